@@ -0,0 +1,134 @@
+package benchmark;
+
+import model.Seat;
+import model.SeatMap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The seat selection of SessionController before {@link service.SeatAllocator} replaced it, kept as the
+ * baseline for {@link SeatSelectionBenchmark} and for comparing the seats both choose. It sorts the free
+ * seats by their distance from the centre, collects adjacent seats in the preferred area and fills up
+ * with the seats nearest to the last one chosen. The logic is unchanged; the free seats are derived from
+ * the taken ones as SessionDao.getAvailableSeats did.
+ */
+final class BaselineSeatSelection {
+
+    /**
+     * Chooses seats for a number of tickets.
+     *
+     * @param taken        Seats that cannot be chosen.
+     * @param numOfTickets Number of seats to choose.
+     * @return The chosen seats.
+     * @throws NullPointerException If no seat in the preferred area is free, as the original did.
+     */
+    List<Seat> select(SeatMap taken, int numOfTickets) {
+        List<Seat> availableSeats = taken.complement().toSeatList(true);
+
+        // Sort available seats by their distance from the center of the screen
+        availableSeats.sort(Comparator.comparingInt(this::calculateDistanceFromCenter));
+
+        List<Seat> preferredSeats = new ArrayList<>();
+
+        int consecutiveSeats = 0;
+        Seat lastSeat = null;
+
+        // Select preferred seats
+        for (Seat seat : availableSeats) {
+            // Check if the seat is in a preferred location
+            if (isPreferredLocation(seat)) {
+                // If selecting multiple tickets, make sure seats are adjacent
+                if (consecutiveSeats < numOfTickets) {
+                    if (lastSeat == null || isAdjacent(seat, lastSeat)) {
+                        preferredSeats.add(seat);
+                        consecutiveSeats++;
+                    } else {
+                        preferredSeats.clear(); // Reset previous selection if seats are not adjacent
+                        consecutiveSeats = 1; // Reset counter
+                        preferredSeats.add(seat);
+                    }
+                } else {
+                    break; // Enough seats selected
+                }
+                lastSeat = seat;
+            }
+        }
+
+        // Check if the number of added tickets matches the expected
+        while (preferredSeats.size() < numOfTickets) {
+            availableSeats.remove(lastSeat);
+            // Find the nearest available seat to the last selected seat
+            Seat nearestSeat = findNearestAvailableSeat(lastSeat, availableSeats);
+
+            // Check if  nearest seat is found
+            if (nearestSeat != null) {
+                // Add the nearest seat to the selection
+                preferredSeats.add(nearestSeat);
+                availableSeats.remove(nearestSeat);
+                // Update last seat to the nearest seat
+                lastSeat = nearestSeat;
+            } else {
+                // Break the loop if no more available seats
+                break;
+            }
+        }
+
+        return preferredSeats;
+    }
+
+    // Method to find the nearest available seat to the selected seat
+    private Seat findNearestAvailableSeat(Seat selectedSeat, List<Seat> availableSeats) {
+        Seat nearestSeat = null;
+        double minDistance = Double.MAX_VALUE;
+
+        // Iterate through available seats to find the nearest one
+        for (Seat seat : availableSeats) {
+            if (seat.isAvailable()) { // Check if the seat is available
+                double distance = calculateDistance(selectedSeat, seat);
+                if (distance < minDistance) { // Update the nearest seat if the distance is smaller
+                    nearestSeat = seat;
+                    minDistance = distance;
+                }
+            }
+        }
+
+        return nearestSeat;
+    }
+
+    // Method to calculate the distance between two seats
+    private double calculateDistance(Seat seat1, Seat seat2) {
+        int dx = seat1.getRowNr() - seat2.getRowNr();
+        int dy = seat1.getSeatNr() - seat2.getSeatNr();
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    // Method to calculate the distance from a seat to the center of the screen
+    private int calculateDistanceFromCenter(Seat seat) {
+        int numRows = 9; // Assume there are 9 rows
+        int numSeatsInRow = 10; // Assume there are 10 seats per row
+
+        int centralRow = numRows / 2;
+        int centralSeat = numSeatsInRow / 2;
+
+        int rowDifference = Math.abs(seat.getRowNr() - centralRow);
+        int seatDifference = Math.abs(seat.getSeatNr() - centralSeat);
+
+        return rowDifference + seatDifference;
+    }
+
+    // Method to check if a seat is in a preferred location
+    private boolean isPreferredLocation(Seat seat) {
+        int optimalDistance = 5; // Optimal distance from the screen center
+        int minDistanceToScreen = 2; // Minimum distance to the screen
+
+        // Check if the seat is within the optimal distance from the center and not too close to the screen
+        return calculateDistanceFromCenter(seat) <= optimalDistance && seat.getRowNr() >= minDistanceToScreen;
+    }
+
+    // Method to check if two seats are adjacent
+    private boolean isAdjacent(Seat seat1, Seat seat2) {
+        return seat1.getRowNr() == seat2.getRowNr() && Math.abs(seat1.getSeatNr() - seat2.getSeatNr()) == 1;
+    }
+}
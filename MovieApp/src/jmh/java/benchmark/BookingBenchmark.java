@@ -0,0 +1,166 @@
+package benchmark;
+
+import config.DbConfig;
+import config.VirtualThreadTaskExecutor;
+import dao.BookingDao;
+import dao.SeatInventory;
+import dao.TasteProfileDao;
+import dto.BookingConfirmation;
+import dto.BookingRequest;
+import model.Seat;
+import model.SeatMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import service.BookingService;
+import service.SeatHoldService;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Booking throughput of {@link BookingService} with the bookings spread over one or several sessions
+ * at a time, under HSQLDB's LOCKS and MVCC transaction models. Every group commit writes sessions,
+ * customerSessions and customerProfiles: under LOCKS it locks those tables, so the writers of different
+ * sessions take turns; under MVCC they lock only their rows. With one session all threads share one writer
+ * and its batches; with many, each writer commits smaller batches but the writers overlap, which pays off
+ * only with a core per writer. Every thread books for its own customer, so threads never update the same
+ * taste profile.
+ * <p>
+ * HSQLDB waits for locks inside synchronized methods, which pins the virtual thread of a waiting writer
+ * to its carrier. The fork gets a carrier per benchmark thread, so that a writer holding a lock always
+ * finds a carrier to run on, even on a machine with fewer cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+@Fork(jvmArgsAppend = "-Djdk.virtualThreadScheduler.parallelism=16")
+public class BookingBenchmark {
+
+    // Enough seats for one iteration of any lane; seats are freed again before every iteration
+    private static final int SESSIONS_PER_LANE = 2500;
+
+    // The profile upsert inserts nothing for returning customers, which HSQLDB reports with a warning
+    // that Hibernate would log on every booking
+    private static final Logger SQL_WARNINGS = Logger.getLogger("org.hibernate.engine.jdbc.spi.SqlExceptionHelper");
+
+    /**
+     * Number of sessions booked at the same time; the threads are spread over them evenly.
+     */
+    @Param({"1", "16"})
+    private int lanes;
+
+    /**
+     * HSQLDB transaction model, {@code hsqldb.tx}.
+     */
+    @Param({"locks", "mvcc"})
+    private String tx;
+
+    private AnnotationConfigApplicationContext context;
+    private JdbcTemplate jdbc;
+    private SeatInventory seatInventory;
+    private BookingService bookingService;
+    private long[][] laneSessions;
+    private AtomicLong[] booked;
+    private List<Long> customerIds;
+
+    @Setup
+    public void setUp() {
+        SQL_WARNINGS.setLevel(java.util.logging.Level.SEVERE);
+        System.setProperty("hsql.url", "jdbc:hsqldb:mem:booking-" + lanes + "-" + tx
+                + ";sql.syntax_pgs=true;hsqldb.tx=" + tx);
+        context = new AnnotationConfigApplicationContext();
+        context.register(DbConfig.class, SeatInventory.class, TasteProfileDao.class, BookingDao.class,
+                SeatHoldService.class, BookingService.class);
+        context.registerBean("requestExecutor", VirtualThreadTaskExecutor.class,
+                () -> new VirtualThreadTaskExecutor("booking-", 20));
+        context.refresh();
+        seatInventory = context.getBean(SeatInventory.class);
+        bookingService = context.getBean(BookingService.class);
+
+        jdbc = new JdbcTemplate(context.getBean("dataSource", DataSource.class));
+        jdbc.update("insert into \"languages\" (text) values ('English')");
+        jdbc.update("insert into movies (title, ageRestrictions, duration, releaseDate)"
+                + " values ('Benchmark', 'PG', '01:30:00', '2020-01-01')");
+        long languageId = jdbc.queryForObject("select min(id) from \"languages\"", Long.class);
+        long movieId = jdbc.queryForObject("select min(id) from movies", Long.class);
+        LocalDateTime startAt = LocalDateTime.now().withNano(0);
+        List<Object[]> sessions = new ArrayList<>();
+        for (int i = 0; i < lanes * SESSIONS_PER_LANE; i++) {
+            sessions.add(new Object[]{movieId, languageId, "Hall 1", Timestamp.valueOf(startAt.plusMinutes(i)), 0.5});
+        }
+        jdbc.batchUpdate("insert into sessions (movie_id, language_id, hallNr, startAt, price) values (?, ?, ?, ?, ?)",
+                sessions);
+        List<Long> sessionIds = jdbc.queryForList("select id from sessions order by id", Long.class);
+        laneSessions = new long[lanes][SESSIONS_PER_LANE];
+        for (int i = 0; i < sessionIds.size(); i++) {
+            laneSessions[i % lanes][i / lanes] = sessionIds.get(i);
+        }
+
+        List<Object[]> customers = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            customers.add(new Object[]{"First" + i, "Last" + i, Date.valueOf(LocalDate.of(1990, 1, 1)),
+                    "customer" + i + "@example.com"});
+        }
+        jdbc.batchUpdate("insert into customers (firstName, lastName, birthDate, email) values (?, ?, ?, ?)",
+                customers);
+        customerIds = jdbc.queryForList("select id from customers order by id", Long.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void freeSeats() {
+        jdbc.update("delete from customerSessions");
+        jdbc.update("update sessions set occupiedLow = 0, occupiedHigh = 0");
+        for (long[] sessionIds : laneSessions) {
+            for (long sessionId : sessionIds) {
+                seatInventory.evict(sessionId);
+            }
+        }
+        booked = new AtomicLong[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            booked[lane] = new AtomicLong();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Books the next free seat of the thread's lane and waits until the booking is committed.
+     */
+    @Benchmark
+    public BookingConfirmation book(ThreadParams thread) {
+        int lane = thread.getThreadIndex() % lanes;
+        long number = booked[lane].getAndIncrement();
+        long sessionId = laneSessions[lane][(int) (number / SeatMap.CAPACITY)];
+        int index = (int) (number % SeatMap.CAPACITY);
+        Seat seat = new Seat(index / SeatMap.SEATS_PER_ROW + 1, index % SeatMap.SEATS_PER_ROW + 1, false);
+        Long customerId = customerIds.get(thread.getThreadIndex() % customerIds.size());
+        return bookingService.book(sessionId, UUID.randomUUID().toString(),
+                new BookingRequest(customerId, List.of(seat))).join();
+    }
+}
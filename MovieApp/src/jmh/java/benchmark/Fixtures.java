@@ -0,0 +1,103 @@
+package benchmark;
+
+import model.Genre;
+import model.Language;
+import model.Movie;
+import model.SeatMap;
+import model.Session;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic data shared by the benchmarks. Every generator takes its own seeded
+ * random source, so a benchmark sees the same data in every run and on every machine.
+ */
+final class Fixtures {
+
+    static final String[] AGE_RESTRICTIONS = {"G", "PG", "PG-13", "R", "NC-17"};
+
+    private static final String[] TITLE_WORDS = {"Last", "Night", "Star", "City", "Dark", "River", "Lost",
+            "Empire", "Silent", "Road", "Winter", "Dream", "Iron", "Secret", "Ocean", "Shadow"};
+
+    private Fixtures() {
+    }
+
+    /**
+     * Seat map with every seat taken with the given probability.
+     */
+    static SeatMap occupiedSeats(double occupancy, Random random) {
+        long low = 0;
+        long high = 0;
+        for (int index = 0; index < SeatMap.CAPACITY; index++) {
+            if (random.nextDouble() < occupancy) {
+                if (index < 64) {
+                    low |= 1L << index;
+                } else {
+                    high |= 1L << (index - 64);
+                }
+            }
+        }
+        return new SeatMap(low, high);
+    }
+
+    /**
+     * Genres with IDs 1 to count.
+     */
+    static List<Genre> genres(int count) {
+        List<Genre> genres = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            genres.add(new Genre((long) i, "Genre " + i));
+        }
+        return genres;
+    }
+
+    /**
+     * Movies with up to three of the given genres each; IDs are left null when withIds is false.
+     */
+    static List<Movie> movies(int count, List<Genre> genres, boolean withIds, Random random) {
+        List<Movie> movies = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            List<Genre> movieGenres = new ArrayList<>();
+            int genreCount = genres.isEmpty() ? 0 : 1 + random.nextInt(Math.min(3, genres.size()));
+            while (movieGenres.size() < genreCount) {
+                Genre genre = genres.get(random.nextInt(genres.size()));
+                if (!movieGenres.contains(genre)) {
+                    movieGenres.add(genre);
+                }
+            }
+            movies.add(new Movie(withIds ? (long) i : null, title(random),
+                    AGE_RESTRICTIONS[random.nextInt(AGE_RESTRICTIONS.length)],
+                    LocalDate.of(1980, 1, 1).plusDays(random.nextInt(16000)),
+                    LocalTime.of(1, 20).plusMinutes(random.nextInt(100)),
+                    movieGenres, null));
+        }
+        return movies;
+    }
+
+    /**
+     * Sessions of the given movies spread over the week starting on the given day.
+     */
+    static List<Session> sessions(int count, List<Movie> movies, Language language, LocalDate weekStart,
+                                  Random random) {
+        List<Session> sessions = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            LocalDateTime startAt = weekStart.atTime(10, 0)
+                    .plusDays(random.nextInt(7))
+                    .plusMinutes(15L * random.nextInt(50));
+            sessions.add(new Session((long) i, movies.get(random.nextInt(movies.size())), language,
+                    "Hall " + (1 + random.nextInt(8)), startAt, 0.5f + random.nextInt(40) / 100f,
+                    SeatMap.EMPTY));
+        }
+        return sessions;
+    }
+
+    private static String title(Random random) {
+        return TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " "
+                + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + (1 + random.nextInt(9));
+    }
+}
@@ -0,0 +1,85 @@
+package benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import config.JsonMappers;
+import dto.MovieView;
+import dto.SessionView;
+import model.Genre;
+import model.Language;
+import model.Movie;
+import model.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of movie and session graphs, both as entities and as the read models
+ * the endpoints return, with the mappers responses are written with in every encoding a client may accept.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int size;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private ObjectWriter writer;
+
+    private List<Movie> movies;
+    private List<Session> sessions;
+    private List<MovieView> movieViews;
+    private List<SessionView> sessionViews;
+
+    @Setup
+    public void setUp() {
+        writer = switch (format) {
+            case "smile" -> JsonMappers.smile().writer();
+            case "cbor" -> JsonMappers.cbor().writer();
+            default -> JsonMappers.json().writer();
+        };
+        Random random = new Random(42);
+        List<Genre> genres = Fixtures.genres(20);
+        // Movies leave their sessions unset, otherwise movie and session would refer to each other
+        movies = Fixtures.movies(size, genres, true, random);
+        sessions = Fixtures.sessions(size, movies, new Language(1L, "English"),
+                LocalDate.now().with(DayOfWeek.MONDAY), random);
+        movieViews = movies.stream().map(MovieView::of).toList();
+        sessionViews = sessions.stream().map(SessionView::of).toList();
+    }
+
+    @Benchmark
+    public byte[] movies() throws JsonProcessingException {
+        return writer.writeValueAsBytes(movies);
+    }
+
+    @Benchmark
+    public byte[] sessions() throws JsonProcessingException {
+        return writer.writeValueAsBytes(sessions);
+    }
+
+    @Benchmark
+    public byte[] movieViews() throws JsonProcessingException {
+        return writer.writeValueAsBytes(movieViews);
+    }
+
+    @Benchmark
+    public byte[] sessionViews() throws JsonProcessingException {
+        return writer.writeValueAsBytes(sessionViews);
+    }
+}
@@ -0,0 +1,92 @@
+package benchmark;
+
+import config.DbConfig;
+import dao.MovieDao;
+import dao.ResourceVersions;
+import dto.MovieSearchCriteria;
+import dto.Page;
+import model.Genre;
+import model.Movie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MovieDao#searchMoviesByFilters} against the in-memory HSQLDB database, seeded through the
+ * application's own schema and bulk insert path. Every search shape is measured for the first page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MovieSearchBenchmark {
+
+    private static final int GENRE_COUNT = 20;
+
+    @Param({"1000", "10000"})
+    private int movieCount;
+
+    @Param({"all", "title", "genre", "released", "combined", "sortedByTitle"})
+    private String search;
+
+    private AnnotationConfigApplicationContext context;
+    private MovieDao movieDao;
+    private MovieSearchCriteria criteria;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(DbConfig.class, ResourceVersions.class, MovieDao.class);
+        movieDao = context.getBean(MovieDao.class);
+
+        JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+        for (int i = 1; i <= GENRE_COUNT; i++) {
+            jdbc.update("insert into genres (text) values (?)", "Genre " + i);
+        }
+        List<Genre> genres = jdbc.query("select id, text from genres order by id",
+                (rs, rowNum) -> new Genre(rs.getLong("id"), rs.getString("text")));
+        List<Movie> movies = Fixtures.movies(movieCount, genres, false, new Random(42));
+        String firstTitle = movies.get(0).getTitle();
+        movieDao.insertMovies(movies);
+
+        criteria = new MovieSearchCriteria();
+        switch (search) {
+            case "title" -> criteria.setTitle(firstTitle);
+            case "genre" -> criteria.setGenreId(genres.get(0).getId());
+            case "released" -> {
+                criteria.setReleasedFrom(LocalDate.of(2000, 1, 1));
+                criteria.setReleasedTo(LocalDate.of(2009, 12, 31));
+            }
+            case "combined" -> {
+                criteria.setGenreId(genres.get(0).getId());
+                criteria.setAgeRestriction("PG-13");
+                criteria.setReleasedFrom(LocalDate.of(2000, 1, 1));
+            }
+            case "sortedByTitle" -> criteria.setSort("title");
+            default -> {
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Movie> searchMoviesByFilters() {
+        return movieDao.searchMoviesByFilters(criteria, null, Page.DEFAULT_LIMIT);
+    }
+}
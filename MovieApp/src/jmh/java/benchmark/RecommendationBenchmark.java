@@ -0,0 +1,102 @@
+package benchmark;
+
+import config.DbConfig;
+import dao.MovieDao;
+import dao.ResourceVersions;
+import model.Genre;
+import model.Movie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import service.RecommendationIndex;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recommendations by {@link RecommendationIndex} for customers with histories of different sizes.
+ * The week's movies are stored in an in-memory database and read through {@link MovieDao}, whose
+ * cached schedule the index is built from once; the history is passed as the genres and age
+ * restrictions of the watched movies. Every call measures the lookup of the cached schedule,
+ * as on the recommendations endpoint, and the scoring of the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecommendationBenchmark {
+
+    private static final int GENRES = 20;
+
+    @Param({"0", "10", "100", "1000"})
+    private int historySize;
+
+    @Param({"200"})
+    private int weekMovieCount;
+
+    private AnnotationConfigApplicationContext context;
+    private RecommendationIndex recommendationIndex;
+    private List<Long> watchedGenreIds;
+    private List<String> watchedAgeRestrictions;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("hsql.url", "jdbc:hsqldb:mem:recommendation-" + historySize + "-" + weekMovieCount
+                + ";sql.syntax_pgs=true;hsqldb.tx=mvcc");
+        context = new AnnotationConfigApplicationContext(DbConfig.class, ResourceVersions.class,
+                MovieDao.class, RecommendationIndex.class);
+        recommendationIndex = context.getBean(RecommendationIndex.class);
+        MovieDao movieDao = context.getBean(MovieDao.class);
+        Random random = new Random(42);
+
+        JdbcTemplate jdbc = new JdbcTemplate(context.getBean("dataSource", DataSource.class));
+        for (int i = 1; i <= GENRES; i++) {
+            jdbc.update("insert into genres (text) values (?)", "Genre " + i);
+        }
+        List<Genre> genres = jdbc.query("select id, text from genres order by id",
+                (row, rowNum) -> new Genre(row.getLong("id"), row.getString("text")));
+        List<Long> movieIds = movieDao.insertMovies(Fixtures.movies(weekMovieCount, genres, false, random));
+
+        // One session today for every movie puts them all on this week's schedule
+        jdbc.update("insert into \"languages\" (text) values ('English')");
+        long languageId = jdbc.queryForObject("select min(id) from \"languages\"", Long.class);
+        Timestamp startAt = Timestamp.valueOf(LocalDateTime.now().withNano(0));
+        List<Object[]> sessions = new ArrayList<>();
+        for (Long movieId : movieIds) {
+            sessions.add(new Object[]{movieId, languageId, "Hall 1", startAt, 0.5});
+        }
+        jdbc.batchUpdate("insert into sessions (movie_id, language_id, hallNr, startAt, price) values (?, ?, ?, ?, ?)",
+                sessions);
+        movieDao.invalidateWeekMovies();
+
+        // Every watched session contributes its movie's genres and age restriction
+        watchedGenreIds = new ArrayList<>();
+        watchedAgeRestrictions = new ArrayList<>();
+        for (Movie watched : Fixtures.movies(historySize, genres, false, random)) {
+            watched.getGenres().forEach(genre -> watchedGenreIds.add(genre.getId()));
+            watchedAgeRestrictions.add(watched.getAgeRestriction());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Movie> recommend() {
+        return recommendationIndex.recommend(watchedGenreIds, watchedAgeRestrictions);
+    }
+}
@@ -0,0 +1,55 @@
+package benchmark;
+
+import model.Seat;
+import model.SeatMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import service.SeatAllocator;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat selection by {@link SeatAllocator} for a hall with the given share of its seats taken, from the
+ * taken seats to the list of chosen seats the seats endpoint returns, against the selection it replaced,
+ * {@link BaselineSeatSelection}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SeatSelectionBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    private int numOfTickets;
+
+    @Param({"0.0", "0.5", "0.9"})
+    private double occupancy;
+
+    private SeatMap taken;
+    private SeatAllocator seatAllocator;
+    private BaselineSeatSelection baseline;
+
+    @Setup
+    public void setUp() {
+        taken = Fixtures.occupiedSeats(occupancy, new Random(42));
+        seatAllocator = new SeatAllocator();
+        baseline = new BaselineSeatSelection();
+    }
+
+    @Benchmark
+    public List<Seat> allocate() {
+        return seatAllocator.allocate(taken, numOfTickets).toSeatList(true);
+    }
+
+    @Benchmark
+    public List<Seat> baseline() {
+        return baseline.select(taken, numOfTickets);
+    }
+}
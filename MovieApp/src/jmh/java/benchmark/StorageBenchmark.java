@@ -0,0 +1,123 @@
+package benchmark;
+
+import config.DbConfig;
+import dao.BatchInserts;
+import dao.MovieDao;
+import dao.ResourceVersions;
+import dao.SeatInventory;
+import exception.SeatsTakenException;
+import model.Movie;
+import model.SeatMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write throughput of the storage modes: the in-memory database against file-backed CACHED tables
+ * with different log sync delays and data file access. Every trial starts from an empty database.
+ * Runs with several threads so that commits made within one write delay can share a log sync.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class StorageBenchmark {
+
+    private static final int SESSION_COUNT = 1000;
+
+    /**
+     * Storage preset: {@code mem}, or {@code file:<writeDelayMillis>:<nio|raf>}.
+     */
+    @Param({"mem", "file:0:nio", "file:10:nio", "file:500:nio", "file:500:raf"})
+    private String storage;
+
+    private Path directory;
+    private AnnotationConfigApplicationContext context;
+    private MovieDao movieDao;
+    private SeatInventory seatInventory;
+    private List<Long> sessionIds;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] preset = storage.split(":");
+        if (preset[0].equals("file")) {
+            directory = Files.createTempDirectory("movieDb");
+            System.setProperty("hsql.mode", "file");
+            System.setProperty("hsql.file.path", directory.resolve("movieDb").toString());
+            System.setProperty("hsql.file.writeDelayMillis", preset[1]);
+            System.setProperty("hsql.file.nioDataFile", String.valueOf(preset[2].equals("nio")));
+        }
+        context = new AnnotationConfigApplicationContext(DbConfig.class, ResourceVersions.class,
+                MovieDao.class, SeatInventory.class);
+        movieDao = context.getBean(MovieDao.class);
+        seatInventory = context.getBean(SeatInventory.class);
+
+        JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+        jdbc.update("insert into \"languages\" (text) values ('English')");
+        jdbc.update("insert into movies (title, ageRestrictions, duration, releaseDate)"
+                + " values ('Benchmark', 'PG', '01:30:00', '2020-01-01')");
+        long languageId = jdbc.queryForObject("select min(id) from \"languages\"", Long.class);
+        long movieId = jdbc.queryForObject("select min(id) from movies", Long.class);
+        LocalDateTime startAt = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < SESSION_COUNT; i++) {
+            jdbc.update("insert into sessions (movie_id, language_id, hallNr, startAt, price) values (?, ?, ?, ?, ?)",
+                    movieId, languageId, "Hall 1", startAt.plusMinutes(i), 0.5);
+        }
+        sessionIds = jdbc.queryForList("select id from sessions order by id", Long.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        if (directory != null) {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    /**
+     * One JDBC batch of new movies in one transaction.
+     */
+    @Benchmark
+    public List<Long> insertMovieBatch() {
+        return movieDao.insertMovies(Fixtures.movies(BatchInserts.BATCH_SIZE, List.of(), false,
+                ThreadLocalRandom.current()));
+    }
+
+    /**
+     * Books a random seat of a random session and releases it again, two committed updates.
+     */
+    @Benchmark
+    public void bookAndRelease() {
+        Random random = ThreadLocalRandom.current();
+        Long sessionId = sessionIds.get(random.nextInt(sessionIds.size()));
+        int index = random.nextInt(SeatMap.CAPACITY);
+        SeatMap seat = index < 64 ? new SeatMap(1L << index, 0L) : new SeatMap(0L, 1L << (index - 64));
+        try {
+            seatInventory.occupySeats(sessionId, seat);
+        } catch (SeatsTakenException e) {
+            // Another thread holds the seat right now
+            return;
+        }
+        seatInventory.releaseSeats(sessionId, seat);
+    }
+}
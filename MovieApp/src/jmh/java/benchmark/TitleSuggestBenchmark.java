@@ -0,0 +1,51 @@
+package benchmark;
+
+import dao.TitleIndex;
+import dto.TitleSuggestion;
+import model.Movie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Title suggestions from {@link TitleIndex} for short prefixes, partial titles and misspelled titles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TitleSuggestBenchmark {
+
+    @Param({"1000", "10000"})
+    private int movieCount;
+
+    @Param({"s", "dark ri", "drak rievr"})
+    private String query;
+
+    private TitleIndex index;
+
+    @Setup
+    public void setUp() {
+        Map<Long, String> titles = new HashMap<>();
+        for (Movie movie : Fixtures.movies(movieCount, Fixtures.genres(20), true, new Random(42))) {
+            titles.put(movie.getId(), movie.getTitle());
+        }
+        index = new TitleIndex();
+        index.putAll(titles);
+    }
+
+    @Benchmark
+    public List<TitleSuggestion> suggest() {
+        return index.suggest(query, 10);
+    }
+}
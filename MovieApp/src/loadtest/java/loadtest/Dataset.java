@@ -0,0 +1,35 @@
+package loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * IDs of the seeded rows, written by {@link DatasetSeeder} and read by {@link LoadGenerator}
+ * so that every generated request targets a row that exists.
+ *
+ * @param genreIds    IDs of the seeded genres.
+ * @param languageIds IDs of the seeded languages.
+ * @param movieIds    IDs of the seeded movies.
+ * @param sessionIds  IDs of the seeded sessions.
+ * @param customerIds IDs of the seeded customers.
+ */
+record Dataset(List<Long> genreIds, List<Long> languageIds, List<Long> movieIds,
+               List<Long> sessionIds, List<Long> customerIds) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    static Dataset read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), Dataset.class);
+    }
+}
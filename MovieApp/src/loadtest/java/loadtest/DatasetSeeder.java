@@ -0,0 +1,196 @@
+package loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Seeds a running application with a synthetic cinema through its REST API, using the bulk
+ * import endpoints for movies, sessions and customers. Genre and language popularity follow a
+ * Zipf-like spread, sessions are spread over the coming days, and every customer has watched a
+ * few of the seeded sessions. The IDs of the seeded rows are written to the dataset file.
+ *
+ * <p>Settings: {@code load.baseUrl}, {@code load.dataset}, {@code load.seed}, {@code load.movies},
+ * {@code load.sessions}, {@code load.customers}, {@code load.maxHistory}, {@code load.days},
+ * {@code load.batchSize}.
+ */
+public final class DatasetSeeder {
+
+    private static final String[] GENRES = {"Drama", "Comedy", "Action", "Thriller", "Romance", "Animation",
+            "Adventure", "Crime", "Horror", "Science Fiction", "Fantasy", "Family", "Mystery", "Documentary",
+            "Biography", "History", "Music", "War", "Western", "Sport"};
+
+    private static final String[] LANGUAGES = {"English", "Estonian", "Russian", "Finnish", "German", "French",
+            "Spanish", "Japanese"};
+
+    private static final String[] AGE_RESTRICTIONS = {"PG-13", "PG", "R", "G", "NC-17"};
+
+    private static final String[] TITLE_WORDS = {"Last", "Night", "Star", "City", "Dark", "River", "Lost",
+            "Empire", "Silent", "Road", "Winter", "Dream", "Iron", "Secret", "Ocean", "Shadow", "Golden",
+            "Broken", "Wild", "Northern", "Glass", "Hidden", "Falling", "Crimson"};
+
+    private static final String[] FIRST_NAMES = {"Mari", "Jaan", "Anna", "Mart", "Liis", "Peeter", "Kati",
+            "Andres", "Laura", "Toomas", "Maria", "Juhan"};
+
+    private static final String[] LAST_NAMES = {"Tamm", "Saar", "Sepp", "Magi", "Kask", "Kukk", "Rebane",
+            "Ilves", "Parn", "Koppel"};
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String baseUrl = Settings.baseUrl();
+    private final int batchSize = Settings.integer("batchSize", 1000);
+    private final Random random = new Random(Settings.integer("seed", 42));
+    private final Map<Integer, double[]> zipfWeights = new HashMap<>();
+
+    private DatasetSeeder() {
+    }
+
+    /**
+     * Seeds the application and writes the dataset file.
+     *
+     * @param args Ignored; settings are read from system properties.
+     * @throws Exception If the application cannot be reached or rejects a request.
+     */
+    public static void main(String[] args) throws Exception {
+        new DatasetSeeder().seed();
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        List<Long> genreIds = new ArrayList<>();
+        for (String genre : GENRES) {
+            genreIds.add(post("/genres", Map.of("text", genre)).get("id").asLong());
+        }
+        List<Long> languageIds = new ArrayList<>();
+        for (String language : LANGUAGES) {
+            languageIds.add(post("/languages", Map.of("text", language)).get("id").asLong());
+        }
+        log("genres and languages", genreIds.size() + languageIds.size(), started);
+
+        List<Long> movieIds = bulk("/movies/bulk", Settings.integer("movies", 5000), i -> movie(genreIds));
+        log("movies", movieIds.size(), started);
+
+        LocalDate firstDay = LocalDate.now().with(DayOfWeek.MONDAY);
+        int days = Settings.integer("days", 14);
+        List<Long> sessionIds = bulk("/sessions/bulk", Settings.integer("sessions", 200_000),
+                i -> session(movieIds, languageIds, firstDay, days));
+        log("sessions", sessionIds.size(), started);
+
+        int maxHistory = Settings.integer("maxHistory", 10);
+        List<Long> customerIds = bulk("/customers/bulk", Settings.integer("customers", 100_000),
+                i -> customer(i, sessionIds, maxHistory));
+        log("customers", customerIds.size(), started);
+
+        new Dataset(genreIds, languageIds, movieIds, sessionIds, customerIds).write(Settings.datasetFile());
+        System.out.println("Dataset written to " + Settings.datasetFile().toAbsolutePath());
+    }
+
+    private Map<String, Object> movie(List<Long> genreIds) {
+        List<Map<String, Object>> genres = new ArrayList<>();
+        int genreCount = 1 + random.nextInt(3);
+        while (genres.size() < genreCount) {
+            Map<String, Object> genre = Map.of("id", genreIds.get(skewed(genreIds.size())));
+            if (!genres.contains(genre)) {
+                genres.add(genre);
+            }
+        }
+        return Map.of(
+                "title", TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " "
+                        + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)]
+                        + (random.nextInt(4) == 0 ? " " + (2 + random.nextInt(4)) : ""),
+                "ageRestriction", AGE_RESTRICTIONS[skewed(AGE_RESTRICTIONS.length)],
+                "releaseDate", LocalDate.of(1970, 1, 1).plusDays(random.nextInt(20_000)).toString(),
+                "duration", LocalTime.of(1, 15).plusMinutes(random.nextInt(110)).toString() + ":00",
+                "genres", genres);
+    }
+
+    private Map<String, Object> session(List<Long> movieIds, List<Long> languageIds, LocalDate firstDay, int days) {
+        LocalDateTime startAt = firstDay.atTime(10, 0)
+                .plusDays(random.nextInt(days))
+                .plusMinutes(15L * random.nextInt(53));
+        return Map.of(
+                "movie", Map.of("id", movieIds.get(skewed(movieIds.size()))),
+                "language", Map.of("id", languageIds.get(skewed(languageIds.size()))),
+                "hallNr", "Hall " + (1 + random.nextInt(12)),
+                "startAt", startAt.toString(),
+                "price", (50 + random.nextInt(49)) / 100.0);
+    }
+
+    private Map<String, Object> customer(int i, List<Long> sessionIds, int maxHistory) {
+        List<Map<String, Object>> history = new ArrayList<>();
+        int watched = random.nextInt(maxHistory + 1);
+        for (int j = 0; j < watched; j++) {
+            history.add(Map.of("id", sessionIds.get(random.nextInt(sessionIds.size()))));
+        }
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return Map.of(
+                "firstName", firstName,
+                "lastName", lastName,
+                "birthDate", LocalDate.of(1950, 1, 1).plusDays(random.nextInt(20_000)).atStartOfDay().toString(),
+                "email", "customer" + i + "@example.com",
+                "history", history);
+    }
+
+    // Index in [0, size) where lower indexes are picked more often, roughly following Zipf's law
+    private int skewed(int size) {
+        double[] cumulative = zipfWeights.computeIfAbsent(size, n -> {
+            double[] weights = new double[n];
+            double total = 0;
+            for (int rank = 1; rank <= n; rank++) {
+                total += 1.0 / rank;
+                weights[rank - 1] = total;
+            }
+            return weights;
+        });
+        int index = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[size - 1]);
+        return index >= 0 ? index : Math.min(-index - 1, size - 1);
+    }
+
+    private List<Long> bulk(String path, int count, IntFunction<Map<String, Object>> row)
+            throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += batchSize) {
+            List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+            for (int i = from; i < Math.min(count, from + batchSize); i++) {
+                batch.add(row.apply(i));
+            }
+            ids.addAll(mapper.convertValue(post(path, batch), new TypeReference<List<Long>>() { }));
+        }
+        return ids;
+    }
+
+    private JsonNode post(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("POST " + path + " failed with " + response.statusCode() + ": "
+                    + new String(response.body()));
+        }
+        return mapper.readTree(response.body());
+    }
+
+    private static void log(String what, int count, long started) {
+        System.out.printf("Seeded %d %s (%.1f s)%n", count, what, (System.nanoTime() - started) / 1e9);
+    }
+}
@@ -0,0 +1,269 @@
+package loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for a running application seeded by {@link DatasetSeeder}.
+ * Requests are started at a fixed rate on their own virtual threads, whatever the state of earlier
+ * requests, and their latency is measured from the time they were scheduled to start. A server
+ * that stalls therefore shows up in the percentiles instead of silently lowering the offered load,
+ * which corrects for coordinated omission. The latency from the actual send is reported beside it.
+ *
+ * <p>Settings: {@code load.baseUrl}, {@code load.dataset}, {@code load.seed}, {@code load.rate}
+ * (requests per second), {@code load.warmupSeconds}, {@code load.durationSeconds},
+ * {@code load.timeoutSeconds}, {@code load.report}, and {@code load.mix} as weights such as
+ * {@code movies:40,search:30,seats:20,recommendations:10}.
+ */
+public final class LoadGenerator {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /**
+     * Kinds of generated requests.
+     */
+    private enum Kind {
+        MOVIES, SEARCH, SEATS, RECOMMENDATIONS
+    }
+
+    /**
+     * Latency recorders of one kind of request.
+     */
+    private static final class Stats {
+        private final Recorder corrected = new Recorder(3);
+        private final Recorder uncorrected = new Recorder(3);
+        private final LongAdder errors = new LongAdder();
+    }
+
+    private final Dataset dataset;
+    private final Random random = new Random(Settings.integer("seed", 42));
+    private final Map<Kind, Stats> stats = new EnumMap<>(Kind.class);
+    private final Kind[] kinds;
+    private final int[] cumulativeWeights;
+    private final String baseUrl = Settings.baseUrl();
+    private final Duration timeout = Duration.ofSeconds(Settings.integer("timeoutSeconds", 30));
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private LoadGenerator(Dataset dataset, String mix) {
+        this.dataset = dataset;
+        List<Kind> mixKinds = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        int total = 0;
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                total += weight;
+                mixKinds.add(Kind.valueOf(parts[0].trim().toUpperCase()));
+                weights.add(total);
+            }
+        }
+        if (mixKinds.isEmpty()) {
+            throw new IllegalArgumentException("load.mix has no request kind with a positive weight");
+        }
+        this.kinds = mixKinds.toArray(new Kind[0]);
+        this.cumulativeWeights = weights.stream().mapToInt(Integer::intValue).toArray();
+        for (Kind kind : Kind.values()) {
+            stats.put(kind, new Stats());
+        }
+    }
+
+    /**
+     * Runs the load test and prints the report.
+     *
+     * @param args Ignored; settings are read from system properties.
+     * @throws Exception If the dataset cannot be read or the report cannot be written.
+     */
+    public static void main(String[] args) throws Exception {
+        Dataset dataset = Dataset.read(Settings.datasetFile());
+        new LoadGenerator(dataset, Settings.string("mix", "movies:40,search:30,seats:20,recommendations:10"))
+                .run(Settings.integer("rate", 200), Settings.integer("warmupSeconds", 10),
+                        Settings.integer("durationSeconds", 60));
+    }
+
+    private void run(int rate, int warmupSeconds, int durationSeconds) throws InterruptedException, IOException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long warmupRequests = (long) warmupSeconds * rate;
+        long totalRequests = warmupRequests + (long) durationSeconds * rate;
+        System.out.printf("Offering %d requests/s for %d s (+%d s warm-up) to %s%n",
+                rate, durationSeconds, warmupSeconds, baseUrl);
+
+        long start = System.nanoTime();
+        long maxLagNanos = 0;
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < totalRequests; i++) {
+                long intended = start + i * intervalNanos;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                } else {
+                    maxLagNanos = Math.max(maxLagNanos, -wait);
+                }
+                Kind kind = nextKind();
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path(kind)))
+                        .timeout(timeout)
+                        .GET()
+                        .build();
+                boolean measured = i >= warmupRequests;
+                requests.execute(() -> send(kind, request, intended, measured));
+            }
+        }
+        double seconds = (System.nanoTime() - start - warmupRequests * intervalNanos) / 1e9;
+        if (maxLagNanos > intervalNanos) {
+            System.out.printf("Warning: the generator fell up to %.1f ms behind schedule%n", maxLagNanos / 1e6);
+        }
+        report(seconds);
+    }
+
+    private void send(Kind kind, HttpRequest request, long intended, boolean measured) {
+        long sent = System.nanoTime();
+        boolean failed;
+        try {
+            failed = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+        } catch (IOException e) {
+            failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed = true;
+        }
+        if (measured) {
+            long done = System.nanoTime();
+            Stats kindStats = stats.get(kind);
+            kindStats.corrected.recordValue(done - intended);
+            kindStats.uncorrected.recordValue(done - sent);
+            if (failed) {
+                kindStats.errors.increment();
+            }
+        }
+    }
+
+    private Kind nextKind() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < kinds.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return kinds[i];
+            }
+        }
+        return kinds[kinds.length - 1];
+    }
+
+    private String path(Kind kind) {
+        return switch (kind) {
+            case MOVIES -> "/movies";
+            case SEARCH -> searchPath();
+            case SEATS -> "/sessions/" + pick(dataset.sessionIds()) + "/seats?numOfTickets=" + (1 + random.nextInt(6));
+            case RECOMMENDATIONS -> "/customers/" + pick(dataset.customerIds()) + "/recommendations";
+        };
+    }
+
+    private String searchPath() {
+        StringBuilder path = new StringBuilder("/movies/search?limit=20");
+        if (random.nextBoolean()) {
+            path.append("&genreId=").append(pick(dataset.genreIds()));
+        }
+        if (random.nextInt(3) == 0) {
+            int year = 1970 + random.nextInt(50);
+            path.append("&releasedFrom=").append(LocalDate.of(year, 1, 1))
+                    .append("&releasedTo=").append(LocalDate.of(year + 5, 12, 31));
+        }
+        if (random.nextInt(4) == 0) {
+            path.append("&sort=").append(random.nextBoolean() ? "title" : "-releaseDate");
+        }
+        return path.toString();
+    }
+
+    private long pick(List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private void report(double seconds) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        Histogram allCorrected = new Histogram(3);
+        Histogram allUncorrected = new Histogram(3);
+        long allErrors = 0;
+
+        System.out.printf("%n%-16s %9s %7s %9s   %s%n", "request", "count", "errors", "req/s",
+                "latency ms p50 / p90 / p99 / p99.9 / max (corrected | from send)");
+        for (Kind kind : Kind.values()) {
+            Stats kindStats = stats.get(kind);
+            Histogram corrected = kindStats.corrected.getIntervalHistogram();
+            Histogram uncorrected = kindStats.uncorrected.getIntervalHistogram();
+            if (corrected.getTotalCount() == 0) {
+                continue;
+            }
+            allCorrected.add(corrected);
+            allUncorrected.add(uncorrected);
+            allErrors += kindStats.errors.sum();
+            json.put(kind.name().toLowerCase(), line(kind.name().toLowerCase(), corrected, uncorrected,
+                    kindStats.errors.sum(), seconds));
+        }
+        json.put("total", line("total", allCorrected, allUncorrected, allErrors, seconds));
+
+        Path reportFile = Path.of(Settings.string("report", "build/loadtest/report.json"));
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), json);
+        System.out.println("\nReport written to " + reportFile.toAbsolutePath());
+    }
+
+    private static Map<String, Object> line(String name, Histogram corrected, Histogram uncorrected,
+                                            long errors, double seconds) {
+        double throughput = corrected.getTotalCount() / seconds;
+        System.out.printf("%-16s %9d %7d %9.1f   %s | %s%n", name, corrected.getTotalCount(), errors, throughput,
+                percentiles(corrected), percentiles(uncorrected));
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("count", corrected.getTotalCount());
+        line.put("errors", errors);
+        line.put("throughput", throughput);
+        line.put("correctedMillis", percentileMap(corrected));
+        line.put("uncorrectedMillis", percentileMap(uncorrected));
+        return line;
+    }
+
+    private static String percentiles(Histogram histogram) {
+        StringBuilder out = new StringBuilder();
+        for (double percentile : PERCENTILES) {
+            out.append(String.format("%.1f / ", histogram.getValueAtPercentile(percentile) / 1e6));
+        }
+        return out.append(String.format("%.1f", histogram.getMaxValue() / 1e6)).toString();
+    }
+
+    private static Map<String, Double> percentileMap(Histogram histogram) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            values.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                    histogram.getValueAtPercentile(percentile) / 1e6);
+        }
+        values.put("max", histogram.getMaxValue() / 1e6);
+        return values;
+    }
+}
@@ -0,0 +1,29 @@
+package loadtest;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of the load-test tools, read from system properties prefixed with {@code load.}.
+ * The Gradle tasks pass every {@code -Pload.*} project property through.
+ */
+final class Settings {
+
+    private Settings() {
+    }
+
+    static String string(String name, String defaultValue) {
+        return System.getProperty("load." + name, defaultValue);
+    }
+
+    static int integer(String name, int defaultValue) {
+        return Integer.parseInt(string(name, String.valueOf(defaultValue)));
+    }
+
+    static String baseUrl() {
+        return string("baseUrl", "http://localhost:8080/api");
+    }
+
+    static Path datasetFile() {
+        return Path.of(string("dataset", "build/loadtest/dataset.json"));
+    }
+}
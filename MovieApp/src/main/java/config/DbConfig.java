@@ -1,22 +1,37 @@
 package config;
 
+import dao.BatchInserts;
 import jakarta.persistence.EntityManagerFactory;
+import model.Affinity;
+import model.Booking;
+import model.Customer;
+import model.Genre;
+import model.Language;
+import model.Movie;
+import model.SeatMap;
+import model.Session;
+import model.TasteProfile;
 import org.hibernate.jpa.HibernatePersistenceProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.ClassPathResource;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
+import java.time.Duration;
 import java.util.Properties;
 
 /**
@@ -28,19 +43,173 @@ import java.util.Properties;
 public class DbConfig {
 
     /**
-     * Configures the data source for the database.
+     * Version of schema.sql, recorded in the schemaVersion table once the schema has been created.
+     * Must be incremented with every change of schema.sql.
+     */
+    public static final int SCHEMA_VERSION = 3;
+
+    /**
+     * Every mapped class, listed up front so that Hibernate does not scan the classpath on boot.
+     */
+    private static final String[] MANAGED_CLASSES = {
+            Affinity.class.getName(),
+            Booking.class.getName(),
+            Customer.class.getName(),
+            Genre.class.getName(),
+            Language.class.getName(),
+            Movie.class.getName(),
+            SeatMap.class.getName(),
+            Session.class.getName(),
+            TasteProfile.class.getName()
+    };
+
+    /**
+     * Measures the startup phases and reports them once the application has started.
+     *
+     * @return The startup timer
+     */
+    @Bean
+    public StartupTimer startupTimer() {
+        return new StartupTimer();
+    }
+
+    /**
+     * Configures the pooled data source of the primary database, which serves every write.
+     * Storage, pool sizing, validation, statement caching and leak detection are read from application.properties.
      *
      * @param env The environment object to retrieve properties
      * @return The configured DataSource object
      */
+    @Bean(destroyMethod = "close")
+    public InstrumentedDataSource dataSource(Environment env) {
+        return pool(env, "hsql.pool.", hsqlUrl(env));
+    }
+
+    /**
+     * Configures the pooled data source of the read replica, which serves read-only transactions.
+     * Pool settings under {@code hsql.replica.pool.*} override those under {@code hsql.pool.*}.
+     * Without {@code hsql.replica.url} the replica pool opens connections to the primary database,
+     * which keeps reads and writes from competing for the same connections.
+     *
+     * @param env The environment object to retrieve properties
+     * @return The configured DataSource object
+     */
+    @Bean(destroyMethod = "close")
+    public InstrumentedDataSource replicaDataSource(Environment env) {
+        String url = env.getProperty("hsql.replica.url", "");
+        return pool(env, "hsql.replica.pool.", url.isEmpty() ? hsqlUrl(env) : url);
+    }
+
+    /**
+     * Data source used by JPA. Read-only transactions go to the replica unless the thread has to
+     * read its own writes, everything else goes to the primary. Connections are fetched lazily, on the
+     * first statement, so that the transaction is known to be read-only when the pool is chosen.
+     *
+     * @param dataSource        The primary data source
+     * @param replicaDataSource The replica data source
+     * @param env               The environment object to retrieve properties
+     * @return The routing DataSource object
+     */
     @Bean
-    public DataSource dataSource(Environment env) {
-        DriverManagerDataSource ds = new DriverManagerDataSource();
+    @Primary
+    public DataSource routingDataSource(@Qualifier("dataSource") DataSource dataSource,
+                                        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                        Environment env) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(dataSource, replicaDataSource,
+                env.getProperty("hsql.replica.maxLagMillis", Long.class, 1000L));
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static InstrumentedDataSource pool(Environment env, String prefix, String url) {
+        PoolProperties props = new PoolProperties(env, prefix);
+        InstrumentedDataSource ds = new InstrumentedDataSource();
         ds.setDriverClassName("org.hsqldb.jdbcDriver");
-        ds.setUrl(env.getProperty("hsql.url"));
+        ds.setUrl(url);
+
+        // Pool sizing
+        ds.setInitialSize(props.get("initialSize", Integer.class, 5));
+        ds.setMinIdle(props.get("minIdle", Integer.class, 5));
+        ds.setMaxIdle(props.get("maxIdle", Integer.class, 20));
+        ds.setMaxTotal(props.get("maxTotal", Integer.class, 20));
+        ds.setMaxWait(Duration.ofMillis(props.get("maxWaitMillis", Long.class, 2000L)));
+
+        // Validation and idle eviction
+        ds.setValidationQuery(props.get("validationQuery", String.class,
+                "SELECT 1 FROM INFORMATION_SCHEMA.SYSTEM_USERS"));
+        ds.setValidationQueryTimeout(Duration.ofSeconds(
+                props.get("validationQueryTimeoutSeconds", Long.class, 1L)));
+        ds.setTestOnBorrow(props.get("testOnBorrow", Boolean.class, true));
+        ds.setTestWhileIdle(props.get("testWhileIdle", Boolean.class, true));
+        ds.setDurationBetweenEvictionRuns(Duration.ofMillis(
+                props.get("timeBetweenEvictionRunsMillis", Long.class, 30000L)));
+        ds.setMinEvictableIdle(Duration.ofMillis(
+                props.get("minEvictableIdleTimeMillis", Long.class, 60000L)));
+
+        // Prepared statement cache
+        ds.setPoolPreparedStatements(props.get("poolPreparedStatements", Boolean.class, true));
+        ds.setMaxOpenPreparedStatements(props.get("maxOpenPreparedStatements", Integer.class, 100));
+
+        // Leak detection
+        ds.setRemoveAbandonedOnBorrow(props.get("removeAbandonedOnBorrow", Boolean.class, true));
+        ds.setRemoveAbandonedOnMaintenance(props.get("removeAbandonedOnMaintenance", Boolean.class, true));
+        ds.setRemoveAbandonedTimeout(Duration.ofSeconds(
+                props.get("removeAbandonedTimeoutSeconds", Long.class, 60L)));
+        ds.setLogAbandoned(props.get("logAbandoned", Boolean.class, true));
         return ds;
     }
 
+    /**
+     * Pool properties under a prefix, falling back to the primary pool's {@code hsql.pool.*} properties.
+     */
+    private record PoolProperties(Environment env, String prefix) {
+        <T> T get(String name, Class<T> type, T defaultValue) {
+            return env.getProperty(prefix + name, type, env.getProperty("hsql.pool." + name, type, defaultValue));
+        }
+    }
+
+    /**
+     * Builds the JDBC URL of the database. With {@code hsql.mode=file} the database is kept in
+     * CACHED tables on local disk, with the durability and I/O settings taken from {@code hsql.file.*};
+     * otherwise {@code hsql.url} is used as is.
+     *
+     * @param env The environment object to retrieve properties
+     * @return The JDBC URL
+     */
+    static String hsqlUrl(Environment env) {
+        if (!"file".equals(env.getProperty("hsql.mode", "mem"))) {
+            return env.getProperty("hsql.url");
+        }
+        return "jdbc:hsqldb:file:" + env.getProperty("hsql.file.path", "data/movieDb")
+                + ";sql.syntax_pgs=true"
+                // Row-level locking instead of the default two-phase table locks
+                + ";hsqldb.tx=mvcc"
+                + ";hsqldb.default_table_type=cached"
+                // 0 syncs the log on every commit; a delay groups the commits made within it into one sync
+                + ";hsqldb.write_delay_millis=" + env.getProperty("hsql.file.writeDelayMillis", "500")
+                // The log is checkpointed into the data file when it grows past this size
+                + ";hsqldb.log_size=" + env.getProperty("hsql.file.logSizeMb", "50")
+                + ";hsqldb.nio_data_file=" + env.getProperty("hsql.file.nioDataFile", "true")
+                + ";hsqldb.nio_max_size=" + env.getProperty("hsql.file.nioMaxSizeMb", "256")
+                + ";hsqldb.cache_rows=" + env.getProperty("hsql.file.cacheRows", "50000")
+                + ";hsqldb.cache_size=" + env.getProperty("hsql.file.cacheSizeKb", "10000")
+                + ";shutdown=true";
+    }
+
+    /**
+     * Checkpoints a file-backed database at a fixed interval, see {@code hsql.file.checkpointIntervalSeconds}.
+     *
+     * @param dataSource The configured DataSource object
+     * @param env        The environment object to retrieve properties
+     * @return The checkpointer
+     */
+    @Bean
+    public HsqlCheckpointer hsqlCheckpointer(@Qualifier("dataSource") DataSource dataSource, Environment env) {
+        boolean fileMode = "file".equals(env.getProperty("hsql.mode", "mem"));
+        return new HsqlCheckpointer(dataSource,
+                fileMode ? env.getProperty("hsql.file.checkpointIntervalSeconds", Long.class, 300L) : 0L);
+    }
+
     /**
      * Defines the SQL dialect to be used by Hibernate.
      *
@@ -53,33 +222,70 @@ public class DbConfig {
 
     /**
      * Configures the EntityManagerFactory.
+     * schema.sql and Hibernate's schema update only run while the database has no schema version
+     * marker; once the marker matches {@link #SCHEMA_VERSION}, both are skipped.
      *
-     * @param dataSource The configured DataSource object
-     * @param dialect    The SQL dialect to be used by Hibernate
+     * @param dataSource   The configured DataSource object
+     * @param dialect      The SQL dialect to be used by Hibernate
+     * @param env          The environment object to retrieve properties
+     * @param startupTimer The timer of the startup phases
      * @return The configured EntityManagerFactory object
      */
     @Bean
     public EntityManagerFactory entityManagerFactory(
             DataSource dataSource,
-            @Qualifier("dialect") String  dialect) {
+            @Qualifier("dialect") String  dialect,
+            Environment env,
+            StartupTimer startupTimer) {
 
-        // Initializes the database using the schema.sql file
-        var populator = new ResourceDatabasePopulator(
-                new ClassPathResource("schema.sql"));
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        int schemaVersion = startupTimer.time("schema version check", () -> schemaVersion(jdbc));
+        boolean createSchema = schemaVersion == 0;
+        if (!createSchema && schemaVersion != SCHEMA_VERSION) {
+            throw new IllegalStateException("Database schema version " + schemaVersion
+                    + " does not match the application's schema version " + SCHEMA_VERSION);
+        }
 
-        DatabasePopulatorUtils.execute(populator, dataSource);
+        // Initializes the database using the schema.sql file
+        if (createSchema) {
+            var populator = new ResourceDatabasePopulator(
+                    new ClassPathResource("schema.sql"));
+            startupTimer.time("schema.sql", () -> {
+                DatabasePopulatorUtils.execute(populator, dataSource);
+                return null;
+            });
+        } else {
+            startupTimer.skipped("schema.sql");
+        }
 
         // Configures the EntityManagerFactory
         LocalContainerEntityManagerFactoryBean factory =
                 new LocalContainerEntityManagerFactoryBean();
         factory.setPersistenceProviderClass(
                 HibernatePersistenceProvider.class);
-        factory.setPackagesToScan("model");
+        factory.setManagedTypes(PersistenceManagedTypes.of(MANAGED_CLASSES));
         factory.setDataSource(dataSource);
-        factory.setJpaProperties(additionalProperties(dialect));
-        factory.afterPropertiesSet();
+        factory.setJpaProperties(additionalProperties(dialect,
+                createSchema ? env.getProperty("db.schema.hbm2ddl", "update") : "none"));
+        EntityManagerFactory entityManagerFactory = startupTimer.time("entity manager factory", () -> {
+            factory.afterPropertiesSet();
+            return factory.getObject();
+        });
+
+        if (createSchema) {
+            jdbc.update("INSERT INTO schemaVersion (version) VALUES (?)", SCHEMA_VERSION);
+        }
+        return entityManagerFactory;
+    }
 
-        return factory.getObject();
+    // Version recorded in the schemaVersion table, or 0 when the schema has not been created yet
+    private static int schemaVersion(JdbcTemplate jdbc) {
+        try {
+            Integer version = jdbc.queryForObject("SELECT MAX(version) FROM schemaVersion", Integer.class);
+            return version == null ? 0 : version;
+        } catch (DataAccessException e) {
+            return 0;
+        }
     }
 
     /**
@@ -99,14 +305,37 @@ public class DbConfig {
      * Defines additional properties for Hibernate.
      *
      * @param dialect The SQL dialect to be used by Hibernate
+     * @param hbm2ddl The schema management action Hibernate runs on boot
      * @return The additional Hibernate properties
      */
-    private Properties additionalProperties(String dialect) {
+    private Properties additionalProperties(String dialect, String hbm2ddl) {
         Properties properties = new Properties();
-        properties.setProperty("hibernate.hbm2ddl.auto", "update");
+        properties.setProperty("hibernate.hbm2ddl.auto", hbm2ddl);
         properties.setProperty("hibernate.dialect", dialect);
+        // The dialect is fixed, so there is no need to read JDBC metadata on boot
+        properties.setProperty("hibernate.temp.use_jdbc_metadata_defaults", "false");
         properties.setProperty("hibernate.show_sql", "false");
         properties.setProperty("hibernate.format_sql", "true");
+        // Loads lazy collections of up to 100 owners per statement instead of one by one
+        properties.setProperty("hibernate.default_batch_fetch_size", "100");
+        // Pads IN lists to powers of two, so a query by a list of IDs reuses a few translated plans
+        // instead of being translated again for every list length
+        properties.setProperty("hibernate.query.in_clause_parameter_padding", "true");
+
+        // JDBC batching for bulk inserts
+        properties.setProperty("hibernate.jdbc.batch_size", String.valueOf(BatchInserts.BATCH_SIZE));
+        properties.setProperty("hibernate.order_inserts", "true");
+        properties.setProperty("hibernate.order_updates", "true");
+
+        // Second-level and query cache for reference data, see application.conf for the region limits
+        properties.setProperty("hibernate.cache.use_second_level_cache", "true");
+        properties.setProperty("hibernate.cache.use_query_cache", "true");
+        properties.setProperty("hibernate.cache.region.factory_class", "jcache");
+        properties.setProperty("hibernate.javax.cache.provider",
+                "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+        properties.setProperty("hibernate.generate_statistics", "true");
+        // Statistics feed the metrics endpoint; the per-session metrics log would format a report on every close
+        properties.setProperty("hibernate.session.events.log", "false");
 
         return properties;
     }
@@ -0,0 +1,60 @@
+package config;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@code CHECKPOINT} on a file-backed HSQLDB database at a fixed interval.
+ * A checkpoint writes the changed rows into the data file and truncates the log, which bounds
+ * the replay work after a crash; between checkpoints HSQLDB only checkpoints when the log
+ * reaches {@code hsqldb.log_size}.
+ */
+public class HsqlCheckpointer implements DisposableBean {
+
+    private static final Log log = LogFactory.getLog(HsqlCheckpointer.class);
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor for HsqlCheckpointer.
+     *
+     * @param dataSource      The data source of the database.
+     * @param intervalSeconds Seconds between checkpoints; 0 or less disables them.
+     */
+    public HsqlCheckpointer(DataSource dataSource, long intervalSeconds) {
+        if (intervalSeconds <= 0) {
+            this.scheduler = null;
+            return;
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "hsql-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                jdbc.execute("CHECKPOINT");
+            } catch (RuntimeException e) {
+                log.warn("Checkpoint failed", e);
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the checkpoints when the application context is closed.
+     */
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package config;
+
+import dto.PoolStats;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.dbcp2.PoolableConnection;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pooled DataSource that keeps track of borrow timeouts and exposes a snapshot of the pool state.
+ */
+public class InstrumentedDataSource extends BasicDataSource {
+
+    private final LongAdder borrowTimeouts = new LongAdder();
+
+    /**
+     * Borrows a connection from the pool, counting requests that gave up waiting for one.
+     *
+     * @return A pooled connection
+     * @throws SQLException If no connection could be obtained
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        try {
+            return super.getConnection();
+        } catch (SQLException e) {
+            if (e.getCause() instanceof NoSuchElementException) {
+                borrowTimeouts.increment();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Takes a snapshot of the current pool statistics.
+     *
+     * @return The pool statistics
+     */
+    public PoolStats getStats() {
+        GenericObjectPool<PoolableConnection> pool = getConnectionPool();
+        if (pool == null) {
+            // The pool is created lazily on the first borrow
+            return new PoolStats(0, 0, getMaxTotal(), getMaxIdle(), getMinIdle(),
+                    0, 0, 0, 0, 0, 0, borrowTimeouts.sum());
+        }
+        return new PoolStats(
+                pool.getNumActive(),
+                pool.getNumIdle(),
+                getMaxTotal(),
+                getMaxIdle(),
+                getMinIdle(),
+                pool.getNumWaiters(),
+                pool.getMeanBorrowWaitTimeMillis(),
+                pool.getMaxBorrowWaitTimeMillis(),
+                pool.getBorrowedCount(),
+                pool.getCreatedCount(),
+                pool.getDestroyedCount(),
+                borrowTimeouts.sum());
+    }
+}
@@ -0,0 +1,48 @@
+package config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Creates the Jackson mappers responses are written with, as JSON or in the binary Smile and CBOR encodings.
+ * All of them are configured alike, so a client gets the same document whichever encoding it accepts.
+ */
+public final class JsonMappers {
+
+    private JsonMappers() {
+    }
+
+    /**
+     * Creates a mapper writing JSON.
+     *
+     * @return The JSON mapper.
+     */
+    public static ObjectMapper json() {
+        return configure(Jackson2ObjectMapperBuilder.json()).build();
+    }
+
+    /**
+     * Creates a mapper writing Smile, the binary encoding of the JSON data model.
+     *
+     * @return The Smile mapper.
+     */
+    public static ObjectMapper smile() {
+        return configure(Jackson2ObjectMapperBuilder.smile()).build();
+    }
+
+    /**
+     * Creates a mapper writing CBOR.
+     *
+     * @return The CBOR mapper.
+     */
+    public static ObjectMapper cbor() {
+        return configure(Jackson2ObjectMapperBuilder.cbor()).build();
+    }
+
+    private static Jackson2ObjectMapperBuilder configure(Jackson2ObjectMapperBuilder builder) {
+        // Installed next to the modules Spring detects, e.g. java.time support.
+        // Blackbird reads and writes properties through generated lambdas instead of reflection.
+        return builder.modulesToInstall(new BlackbirdModule());
+    }
+}
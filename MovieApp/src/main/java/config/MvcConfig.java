@@ -1,15 +1,108 @@
 package config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dao.ReadYourWrites;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.env.Environment;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
 
 /**
- * Configures Spring MVC and enables component scanning for DAO and controller packages.
+ * Configures Spring MVC, enables aspects, scheduled tasks and component scanning for DAO, service and controller packages.
  */
 @EnableWebMvc
+@EnableScheduling
+@EnableAspectJAutoProxy
 @Configuration
-@ComponentScan(basePackages = {"dao", "controller"})
-public class MvcConfig {
+@ComponentScan(basePackages = {"dao", "service", "controller"})
+public class MvcConfig implements WebMvcConfigurer {
+
+    private final Environment env;
+
+    /**
+     * Constructor for MvcConfig.
+     *
+     * @param env Instance of Environment.
+     */
+    public MvcConfig(Environment env) {
+        this.env = env;
+    }
+
+    /**
+     * Executor of asynchronous requests. Every request runs on a virtual thread, and no more
+     * requests run at once than the connection pool has connections. Tasks keep the read-your-writes
+     * hints of the thread that submitted them.
+     *
+     * @return The request executor.
+     */
+    @Bean
+    public VirtualThreadTaskExecutor requestExecutor() {
+        VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("request-",
+                env.getProperty("async.maxConcurrency", Integer.class,
+                        env.getProperty("hsql.pool.maxTotal", Integer.class, 20)));
+        executor.setTaskDecorator(ReadYourWrites::propagate);
+        return executor;
+    }
+
+    /**
+     * The mapper JSON responses and exports are written with.
+     *
+     * @return The shared JSON mapper.
+     */
+    @Bean
+    public ObjectMapper objectMapper() {
+        return JsonMappers.json();
+    }
+
+    /**
+     * Routes the reads of a client that has just written to the primary database.
+     *
+     * @param registry The interceptor registry.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor());
+    }
+
+    /**
+     * Writes responses with the shared mappers. Besides JSON, a client may ask for Smile or CBOR
+     * through the Accept header; JSON stays the default since its converter comes first.
+     *
+     * @param converters The converters Spring MVC registered by default.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2HttpMessageConverter json) {
+                json.setObjectMapper(objectMapper());
+            } else if (converter instanceof MappingJackson2SmileHttpMessageConverter smile) {
+                smile.setObjectMapper(JsonMappers.smile());
+            } else if (converter instanceof MappingJackson2CborHttpMessageConverter cbor) {
+                cbor.setObjectMapper(JsonMappers.cbor());
+            }
+        }
+    }
 
+    /**
+     * Runs Callable and WebAsyncTask handlers on the request executor.
+     *
+     * @param configurer The async support configurer.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(requestExecutor());
+        configurer.setDefaultTimeout(env.getProperty("async.timeoutMillis", Long.class, 30000L));
+    }
 }
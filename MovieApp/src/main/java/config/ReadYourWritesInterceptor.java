@@ -0,0 +1,41 @@
+package config;
+
+import dao.ReadYourWrites;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Takes the time of the client's last write from the {@value ReplicaRoutingDataSource#LAST_WRITE_HEADER}
+ * request header, so that the request reads from the primary while the replica may still lag behind it,
+ * and forgets the routing hints of the thread when the request completes. An asynchronous request
+ * releases its servlet thread before it completes, so the thread forgets them then as well; the
+ * request executor hands them to the thread that continues the request.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String lastWrite = request.getHeader(ReplicaRoutingDataSource.LAST_WRITE_HEADER);
+        if (lastWrite != null) {
+            try {
+                ReadYourWrites.readAfter(Long.parseLong(lastWrite.trim()));
+            } catch (NumberFormatException e) {
+                // A malformed hint only means the request may read from the replica
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReadYourWrites.clear();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ReadYourWrites.clear();
+    }
+}
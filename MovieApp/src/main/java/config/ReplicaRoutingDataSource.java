@@ -0,0 +1,71 @@
+package config;
+
+import dao.ReadYourWrites;
+import dao.TransactionHooks;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to the replica and everything else to the primary.
+ * A thread that committed a write keeps reading from the primary for the maximum replica lag,
+ * and so does a request that carries the {@value #LAST_WRITE_HEADER} header of an earlier write;
+ * the time of every committed write is returned to the client in that header.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Header with the time of the client's last write, in epoch milliseconds.
+     */
+    public static final String LAST_WRITE_HEADER = "X-Last-Write";
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final long maxLagMillis;
+
+    /**
+     * Constructor for ReplicaRoutingDataSource.
+     *
+     * @param primary      The data source of the primary database.
+     * @param replica      The data source of the replica.
+     * @param maxLagMillis The longest time the replica may lag behind the primary.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, long maxLagMillis) {
+        this.maxLagMillis = maxLagMillis;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            TransactionHooks.afterCommit(ReplicaRoutingDataSource::writeCommitted);
+        }
+        return super.getConnection();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReadYourWrites.requiresPrimary(maxLagMillis) ? REPLICA : PRIMARY;
+    }
+
+    private static void writeCommitted() {
+        long writeMillis = ReadYourWrites.writeCommitted();
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletResponse response = attributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                response.setHeader(LAST_WRITE_HEADER, String.valueOf(writeMillis));
+            }
+        }
+    }
+}
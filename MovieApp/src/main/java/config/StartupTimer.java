@@ -0,0 +1,86 @@
+package config;
+
+import dto.StartupReport;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures the phases of application startup and reports them once the root context is refreshed.
+ */
+public class StartupTimer implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final Log log = LogFactory.getLog(StartupTimer.class);
+
+    private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+    private volatile StartupReport report;
+
+    /**
+     * Runs one startup phase and records how long it took.
+     *
+     * @param phase Name of the phase.
+     * @param work  The work of the phase.
+     * @param <T>   Type of the result of the work.
+     * @return The result of the work.
+     */
+    public <T> T time(String phase, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records a startup phase that was skipped.
+     *
+     * @param phase Name of the phase.
+     */
+    public void skipped(String phase) {
+        synchronized (phaseMillis) {
+            phaseMillis.put(phase + " (skipped)", 0L);
+        }
+    }
+
+    /**
+     * Builds and logs the startup report when the root context has been refreshed.
+     *
+     * @param event The refresh event.
+     */
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (event.getApplicationContext().getParent() != null || report != null) {
+            return;
+        }
+        long contextMillis = System.currentTimeMillis() - event.getApplicationContext().getStartupDate();
+        long jvmMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        synchronized (phaseMillis) {
+            report = new StartupReport(jvmMillis, contextMillis, new LinkedHashMap<>(phaseMillis));
+        }
+        log.info("Started in " + contextMillis + " ms (JVM uptime " + jvmMillis + " ms), phases: "
+                + report.getPhaseMillis());
+    }
+
+    /**
+     * Returns the startup report.
+     *
+     * @return The startup report, or null while the application is still starting.
+     */
+    public StartupReport getReport() {
+        return report;
+    }
+
+    private void record(String phase, long nanos) {
+        synchronized (phaseMillis) {
+            phaseMillis.put(phase, TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Task executor that runs every task on its own virtual thread, with at most a fixed number
+ * of tasks running at once. Tasks over the limit park their virtual thread on a fair semaphore
+ * instead of blocking the thread that submitted them, so the limit can follow the connection pool
+ * size and queued requests wait for a permit rather than time out waiting for a connection.
+ */
+public class VirtualThreadTaskExecutor extends TaskExecutorAdapter implements DisposableBean {
+
+    private final ExecutorService executor;
+
+    /**
+     * Constructor for VirtualThreadTaskExecutor.
+     *
+     * @param namePrefix     Prefix of the names of the virtual threads.
+     * @param maxConcurrency Maximum number of tasks running at once.
+     */
+    public VirtualThreadTaskExecutor(String namePrefix, int maxConcurrency) {
+        this(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory()),
+                new Semaphore(maxConcurrency, true));
+    }
+
+    private VirtualThreadTaskExecutor(ExecutorService executor, Semaphore permits) {
+        super(task -> executor.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        }));
+        this.executor = executor;
+    }
+
+    /**
+     * Stops accepting tasks; running tasks are left to finish.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
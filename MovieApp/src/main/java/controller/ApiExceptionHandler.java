@@ -0,0 +1,46 @@
+package controller;
+
+import exception.BadRequestException;
+import exception.NotFoundException;
+import exception.SeatsTakenException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps exceptions thrown by the controllers to HTTP error responses.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * Reports invalid request input, such as an unknown sort field or a malformed cursor.
+     * @param e The exception.
+     * @return Problem details with status 400.
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ProblemDetail handleBadRequest(BadRequestException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    /**
+     * Reports a request that conflicts with the current state, such as booking a seat that is already taken.
+     * @param e The exception.
+     * @return Problem details with status 409.
+     */
+    @ExceptionHandler(SeatsTakenException.class)
+    public ProblemDetail handleConflict(SeatsTakenException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    /**
+     * Reports a request for something that does not exist, such as a seat hold that has expired.
+     * @param e The exception.
+     * @return Problem details with status 404.
+     */
+    @ExceptionHandler(NotFoundException.class)
+    public ProblemDetail handleNotFound(NotFoundException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+}
@@ -0,0 +1,61 @@
+package controller;
+
+import dto.CacheRegionStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/cache")
+public class CacheController {
+
+    /**
+     * Region holding cached query results.
+     */
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    private final Statistics statistics;
+
+    /**
+     * Constructor for CacheController.
+     * @param entityManagerFactory The Hibernate-backed EntityManagerFactory.
+     */
+    public CacheController(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Retrieves hit and miss statistics of every second-level cache region.
+     * @return List of region statistics.
+     */
+    @GetMapping
+    public List<CacheRegionStats> getCacheStats() {
+        Set<String> regionNames = new LinkedHashSet<>(Arrays.asList(statistics.getSecondLevelCacheRegionNames()));
+        regionNames.add(QUERY_RESULTS_REGION);
+
+        List<CacheRegionStats> regions = new ArrayList<>();
+        for (String region : regionNames) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats != null) {
+                regions.add(toRegionStats(region, stats));
+            }
+        }
+        return regions;
+    }
+
+    private CacheRegionStats toRegionStats(String region, CacheRegionStatistics stats) {
+        long lookups = stats.getHitCount() + stats.getMissCount();
+        return new CacheRegionStats(region, stats.getHitCount(), stats.getMissCount(), stats.getPutCount(),
+                stats.getElementCountInMemory(), lookups == 0 ? 0 : (double) stats.getHitCount() / lookups);
+    }
+}
@@ -1,41 +1,70 @@
 package controller;
 
 import dao.CustomerDao;
-import dao.MovieDao;
+import dao.TasteProfileDao;
+import dto.CustomerView;
+import dto.MovieView;
+import dto.Page;
+import dto.TasteProfileView;
 import model.Customer;
-import model.Genre;
-import model.Movie;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import service.JsonExporter;
+import service.RecommendationIndex;
 
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/customers")
 public class CustomerController {
 
     private final CustomerDao customerDao;
-    private final MovieDao movieDao;
+    private final TasteProfileDao tasteProfileDao;
+    private final RecommendationIndex recommendationIndex;
+    private final JsonExporter jsonExporter;
+    private final AsyncTaskExecutor requestExecutor;
 
     /**
      * Constructor for CustomerController.
      * @param customerDao Instance of CustomerDao.
-     * @param movieDao Instance of MovieDao.
+     * @param tasteProfileDao Instance of TasteProfileDao.
+     * @param recommendationIndex Instance of RecommendationIndex.
+     * @param jsonExporter Instance of JsonExporter.
+     * @param requestExecutor Executor of asynchronous requests.
      */
-    public CustomerController(CustomerDao customerDao, MovieDao movieDao) {
+    public CustomerController(CustomerDao customerDao, TasteProfileDao tasteProfileDao,
+                              RecommendationIndex recommendationIndex, JsonExporter jsonExporter,
+                              AsyncTaskExecutor requestExecutor) {
         this.customerDao = customerDao;
-        this.movieDao = movieDao;
+        this.tasteProfileDao = tasteProfileDao;
+        this.recommendationIndex = recommendationIndex;
+        this.jsonExporter = jsonExporter;
+        this.requestExecutor = requestExecutor;
     }
 
     /**
-     * Retrieves all customers.
-     * @return List of all customers.
+     * Retrieves customers, one page at a time.
+     * @param cursor Cursor returned with the previous page; omit for the first page.
+     * @param limit Maximum number of customers to return.
+     * @return Page of customers.
      */
     @GetMapping
-    public List<Customer> getAllCustomers() {
-        return customerDao.getCustomers();
+    public Page<CustomerView> getAllCustomers(@RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "" + Page.DEFAULT_LIMIT) int limit) {
+        return customerDao.getCustomers(cursor, limit);
+    }
+
+    /**
+     * Exports all customers as a JSON array streamed straight from the database.
+     * @return Streaming response with all customers.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCustomers() {
+        return jsonExporter.stream(action ->
+                customerDao.forEachCustomer(customer -> action.accept(CustomerView.of(customer))));
     }
 
     /**
@@ -44,18 +73,28 @@ public class CustomerController {
      * @return The customer with the specified ID.
      */
     @GetMapping("/{id}")
-    public Customer getCustomerById(@PathVariable Long id) {
-        return customerDao.getCustomerById(id);
+    public CustomerView getCustomerById(@PathVariable Long id) {
+        return CustomerView.of(customerDao.getCustomerById(id));
     }
 
     /**
      * Creates a new customer.
      * @param customer The customer object to create.
-     * @return The created customer object.
+     * @return The created customer, without the session history.
      */
     @PostMapping
-    public Customer createCustomer(@RequestBody Customer customer) {
-        return customerDao.insertCustomer(customer);
+    public CustomerView createCustomer(@RequestBody Customer customer) {
+        return CustomerView.of(customerDao.insertCustomer(customer));
+    }
+
+    /**
+     * Creates many customers in one request using JDBC batch inserts.
+     * @param customers The customers to create.
+     * @return The IDs of the created customers.
+     */
+    @PostMapping("/bulk")
+    public List<Long> createCustomers(@RequestBody List<Customer> customers) {
+        return customerDao.insertCustomers(customers);
     }
 
     /**
@@ -68,28 +107,37 @@ public class CustomerController {
     }
 
     /**
-     * Retrieves recommended movies for a customer.
+     * Retrieves the taste profile of a customer, built from their bookings.
+     * @param customerId The ID of the customer.
+     * @return The taste profile of the customer.
+     */
+    @GetMapping("/{customerId}/profile")
+    public TasteProfileView getTasteProfile(@PathVariable Long customerId) {
+        return TasteProfileView.of(tasteProfileDao.getProfile(customerId));
+    }
+
+    /**
+     * Retrieves recommended movies for a customer, from their taste profile.
      * @param customerId The ID of the customer to retrieve recommendations for.
-     * @return List of recommended movies.
+     * @return List of recommended movies, the most relevant first.
      */
     @GetMapping("/{customerId}/recommendations")
-    public List<Movie> getRecommendedMovies(@PathVariable Long customerId) {
-        List<Movie> watchedMovies = customerDao.getWatchedMovies(customerId);
-        List<Movie> weekMovies = movieDao.getWeekMovies();
-        Set<Movie> recommendedMovies = new HashSet<>();
-
-        for(Movie weekMovie: weekMovies){
-            for (Movie watchedMovie : watchedMovies){
-                for(Genre genre: weekMovie.getGenres()){
-                    if(watchedMovie.getGenres().contains(genre)
-                            || weekMovie.getAgeRestriction().equals(watchedMovie.getAgeRestriction())){
-                        recommendedMovies.add(weekMovie);
-                        break;
-                    }
-                }
-            }
-        }
+    public List<MovieView> getRecommendedMovies(@PathVariable Long customerId) {
+        return recommendationIndex.recommend(
+                        customerDao.getWatchedGenreIds(customerId),
+                        customerDao.getWatchedAgeRestrictions(customerId))
+                .stream()
+                .map(MovieView::of)
+                .toList();
+    }
 
-        return new ArrayList<>(recommendedMovies);
+    /**
+     * Retrieves recommended movies for a customer on a virtual thread, releasing the servlet thread.
+     * @param customerId The ID of the customer to retrieve recommendations for.
+     * @return Future list of recommended movies, the most relevant first.
+     */
+    @GetMapping("/{customerId}/recommendations/async")
+    public CompletableFuture<List<MovieView>> getRecommendedMoviesAsync(@PathVariable Long customerId) {
+        return requestExecutor.submitCompletable(() -> getRecommendedMovies(customerId));
     }
 }
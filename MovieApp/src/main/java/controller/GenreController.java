@@ -1,33 +1,47 @@
 package controller;
 
 import dao.GenreDao;
+import dao.ResourceVersions;
+import dao.ResourceVersions.Resource;
+import dto.Page;
 import model.Genre;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/genres")
 public class GenreController {
 
     private final GenreDao genreDao;
+    private final ResourceVersions resourceVersions;
 
     /**
      * Constructor for GenreController.
      * @param genreDao Instance of GenreDao.
+     * @param resourceVersions Instance of ResourceVersions.
      */
-    public GenreController(GenreDao genreDao) {
+    public GenreController(GenreDao genreDao, ResourceVersions resourceVersions) {
         this.genreDao = genreDao;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
-     * Retrieves all genres.
-     * @return List of all genres.
+     * Retrieves genres, one page at a time.
+     * @param cursor Cursor returned with the previous page; omit for the first page.
+     * @param limit Maximum number of genres to return.
+     * @param request The request, answered with 304 Not Modified when the client's copy is current.
+     * @return Page of genres, or null when not modified.
      */
     @GetMapping
-    public List<Genre> getAllGenres() {
-        return genreDao.getGenres();
+    public Page<Genre> getAllGenres(@RequestParam(required = false) String cursor,
+                                    @RequestParam(defaultValue = "" + Page.DEFAULT_LIMIT) int limit,
+                                    WebRequest request) {
+        ResourceVersions.Stamp stamp = resourceVersions.stamp(Resource.GENRES);
+        if (request.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return null;
+        }
+        return genreDao.getGenres(cursor, limit);
     }
 
     /**
@@ -1,33 +1,47 @@
 package controller;
 
 import dao.LanguageDao;
+import dao.ResourceVersions;
+import dao.ResourceVersions.Resource;
+import dto.Page;
 import model.Language;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/languages")
 public class LanguageController {
 
     private final LanguageDao languageDao;
+    private final ResourceVersions resourceVersions;
 
     /**
      * Constructor for LanguageController.
      * @param languageDao Instance of LanguageDao.
+     * @param resourceVersions Instance of ResourceVersions.
      */
-    public LanguageController(LanguageDao languageDao) {
+    public LanguageController(LanguageDao languageDao, ResourceVersions resourceVersions) {
         this.languageDao = languageDao;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
-     * Retrieves all languages.
-     * @return List of all languages.
+     * Retrieves languages, one page at a time.
+     * @param cursor Cursor returned with the previous page; omit for the first page.
+     * @param limit Maximum number of languages to return.
+     * @param request The request, answered with 304 Not Modified when the client's copy is current.
+     * @return Page of languages, or null when not modified.
      */
     @GetMapping
-    public List<Language> getAllLanguages() {
-        return languageDao.getLanguages();
+    public Page<Language> getAllLanguages(@RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "" + Page.DEFAULT_LIMIT) int limit,
+                                          WebRequest request) {
+        ResourceVersions.Stamp stamp = resourceVersions.stamp(Resource.LANGUAGES);
+        if (request.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return null;
+        }
+        return languageDao.getLanguages(cursor, limit);
     }
 
     /**
@@ -0,0 +1,128 @@
+package controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import service.EndpointMetrics;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+@RestController
+@RequestMapping("/metrics")
+public class MetricsController {
+
+    /**
+     * Content type of the Prometheus text exposition format.
+     */
+    private static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * Number of slowest queries reported.
+     */
+    private static final int SLOWEST_QUERIES = 10;
+
+    private final EndpointMetrics endpointMetrics;
+    private final Statistics statistics;
+
+    /**
+     * Constructor for MetricsController.
+     * @param endpointMetrics Instance of EndpointMetrics.
+     * @param entityManagerFactory The Hibernate-backed EntityManagerFactory.
+     */
+    public MetricsController(EndpointMetrics endpointMetrics, EntityManagerFactory entityManagerFactory) {
+        this.endpointMetrics = endpointMetrics;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Retrieves endpoint latency and Hibernate statistics in the Prometheus text format.
+     * @return The metrics as text.
+     */
+    @GetMapping(produces = PROMETHEUS_TEXT)
+    public String getMetrics() {
+        StringBuilder out = new StringBuilder(8192);
+        endpointMetrics.appendTo(out);
+        appendHibernateStatistics(out);
+        return out.toString();
+    }
+
+    private void appendHibernateStatistics(StringBuilder out) {
+        counter(out, "hibernate_sessions_opened_total", "Sessions opened.", statistics.getSessionOpenCount());
+        counter(out, "hibernate_transactions_total", "Transactions completed.", statistics.getTransactionCount());
+        counter(out, "hibernate_statements_prepared_total", "JDBC statements prepared.",
+                statistics.getPrepareStatementCount());
+        counter(out, "hibernate_query_executions_total", "HQL and native queries executed.",
+                statistics.getQueryExecutionCount());
+        gauge(out, "hibernate_query_execution_max_seconds", "Slowest query execution.",
+                statistics.getQueryExecutionMaxTime() / 1000.0);
+        counter(out, "hibernate_entity_loads_total", "Entities loaded.", statistics.getEntityLoadCount());
+        counter(out, "hibernate_entity_fetches_total", "Entities fetched by a separate statement.",
+                statistics.getEntityFetchCount());
+        counter(out, "hibernate_entity_inserts_total", "Entities inserted.", statistics.getEntityInsertCount());
+        counter(out, "hibernate_entity_updates_total", "Entities updated.", statistics.getEntityUpdateCount());
+        counter(out, "hibernate_entity_deletes_total", "Entities deleted.", statistics.getEntityDeleteCount());
+        counter(out, "hibernate_collection_loads_total", "Collections loaded.", statistics.getCollectionLoadCount());
+
+        counter(out, "hibernate_second_level_cache_hits_total", "Second-level cache hits.",
+                statistics.getSecondLevelCacheHitCount());
+        counter(out, "hibernate_second_level_cache_misses_total", "Second-level cache misses.",
+                statistics.getSecondLevelCacheMissCount());
+        gauge(out, "hibernate_second_level_cache_hit_ratio", "Second-level cache hit ratio.",
+                ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()));
+        counter(out, "hibernate_query_cache_hits_total", "Query cache hits.", statistics.getQueryCacheHitCount());
+        counter(out, "hibernate_query_cache_misses_total", "Query cache misses.",
+                statistics.getQueryCacheMissCount());
+        gauge(out, "hibernate_query_cache_hit_ratio", "Query cache hit ratio.",
+                ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()));
+
+        List<String> slowest = Arrays.stream(statistics.getQueries())
+                .sorted(Comparator.comparingLong(
+                        (String query) -> statistics.getQueryStatistics(query).getExecutionMaxTime()).reversed())
+                .limit(SLOWEST_QUERIES)
+                .toList();
+        queryFamily(out, slowest, "hibernate_slow_query_max_seconds", "Slowest execution of the slowest queries.",
+                "gauge", stats -> stats.getExecutionMaxTime() / 1000.0);
+        queryFamily(out, slowest, "hibernate_slow_query_mean_seconds", "Mean execution of the slowest queries.",
+                "gauge", stats -> stats.getExecutionAvgTime() / 1000.0);
+        queryFamily(out, slowest, "hibernate_slow_query_executions_total", "Executions of the slowest queries.",
+                "counter", stats -> stats.getExecutionCount());
+    }
+
+    private void queryFamily(StringBuilder out, List<String> queries, String name, String help, String type,
+                             Function<QueryStatistics, Number> value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        for (String query : queries) {
+            out.append(name).append("{query=\"").append(escape(query)).append("\"} ")
+                    .append(value.apply(statistics.getQueryStatistics(query))).append('\n');
+        }
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, double value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" gauge\n");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static double ratio(long hits, long misses) {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    // Label values escape backslashes, quotes and line breaks
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -1,45 +1,99 @@
 package controller;
 
 import dao.MovieDao;
+import dao.ResourceVersions;
+import dao.ResourceVersions.Resource;
+import dto.MovieSearchCriteria;
+import dto.MovieView;
+import dto.Page;
+import dto.TitleSuggestion;
 import jakarta.validation.Valid;
 import model.Movie;
+import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import service.JsonExporter;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/movies")
 public class MovieController {
 
     private final MovieDao movieDao;
+    private final JsonExporter jsonExporter;
+    private final ResourceVersions resourceVersions;
 
     /**
      * Constructor for MovieController.
      * @param movieDao Instance of MovieDao.
+     * @param jsonExporter Instance of JsonExporter.
+     * @param resourceVersions Instance of ResourceVersions.
      */
-    public MovieController(MovieDao movieDao){
+    public MovieController(MovieDao movieDao, JsonExporter jsonExporter, ResourceVersions resourceVersions){
         this.movieDao = movieDao;
+        this.jsonExporter = jsonExporter;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
      * Retrieves movies for the current week.
-     * @return List of movies for the current week.
+     * @param request The request, answered with 304 Not Modified when the client's copy is current.
+     * @return List of movies for the current week, or null when not modified.
      */
     @GetMapping
-    public List<Movie> getWeekMovies() {
-        return movieDao.getWeekMovies();
+    public List<MovieView> getWeekMovies(WebRequest request) {
+        // The schedule also changes by itself when a new week starts
+        LocalDate weekStart = LocalDate.now().with(DayOfWeek.MONDAY);
+        ResourceVersions.Stamp stamp = resourceVersions.stamp(Resource.MOVIES, Resource.GENRES, Resource.SESSIONS)
+                .since(weekStart.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        if (request.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return null;
+        }
+        return movieDao.getWeekMovies().stream()
+                .map(MovieView::of)
+                .toList();
     }
 
     /**
-     * Searches movies based on provided filters.
-     * @param filters Map of filters.
-     * @return List of movies matching the filters.
+     * Exports all movies as a JSON array streamed straight from the database.
+     * @return Streaming response with all movies.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMovies() {
+        return jsonExporter.stream(action ->
+                movieDao.forEachMovie(movie -> action.accept(MovieView.of(movie))));
+    }
+
+    /**
+     * Searches movies based on provided filters, one page at a time.
+     * @param criteria The filters and sort order; unknown parameters are ignored.
+     * @param cursor Cursor returned with the previous page; omit for the first page.
+     * @param limit Maximum number of movies to return.
+     * @return Page of movies matching the filters.
      */
     @GetMapping("/search")
-    public List<Movie> searchMoviesByFilters(@RequestParam Map<String, String> filters) {
-        return movieDao.searchMoviesByFilters(filters);
+    public Page<MovieView> searchMoviesByFilters(MovieSearchCriteria criteria,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "" + Page.DEFAULT_LIMIT) int limit) {
+        return movieDao.searchMoviesByFilters(criteria, cursor, limit).map(MovieView::of);
+    }
+
+    /**
+     * Suggests movies for a partially typed title, tolerating typos. Served from memory.
+     * @param q The typed text.
+     * @param limit Maximum number of suggestions.
+     * @return The suggested titles, the best match first.
+     */
+    @GetMapping("/suggest")
+    public List<TitleSuggestion> suggestTitles(@RequestParam String q,
+                                               @RequestParam(defaultValue = "10") int limit) {
+        return movieDao.suggestTitles(q, Page.clampLimit(limit));
     }
 
     /**
@@ -48,19 +102,32 @@ public class MovieController {
      * @return The movie with the specified ID.
      */
     @GetMapping("/{id}")
-    public Movie getMovieById(@PathVariable Long id) {
-        return movieDao.getMovieById(id);
+    public MovieView getMovieById(@PathVariable Long id) {
+        return MovieView.of(movieDao.getMovieById(id));
     }
 
     /**
      * Creates a new movie.
      * @param movie The movie object to create.
-     * @return The created movie object.
+     * @return The created movie with its genres, without the sessions.
      */
     @Transactional
     @PostMapping("/create")
-    public Movie createMovie(@RequestBody @Valid Movie movie){
-        return movieDao.insertMovie(movie);
+    public MovieView createMovie(@RequestBody @Valid Movie movie){
+        movieDao.invalidateWeekMovies();
+        return MovieView.of(movieDao.insertMovie(movie));
+    }
+
+    /**
+     * Creates many movies in one request using JDBC batch inserts.
+     * @param movies The movies to create; genres are referenced by ID.
+     * @return The IDs of the created movies.
+     */
+    @PostMapping("/bulk")
+    public List<Long> createMovies(@RequestBody List<Movie> movies) {
+        List<Long> ids = movieDao.insertMovies(movies);
+        movieDao.invalidateWeekMovies();
+        return ids;
     }
 
     /**
@@ -71,5 +138,6 @@ public class MovieController {
     @DeleteMapping("/{id}")
     public void deleteMovie(@PathVariable Long id) {
         movieDao.deleteMovie(id);
+        movieDao.invalidateWeekMovies();
     }
 }
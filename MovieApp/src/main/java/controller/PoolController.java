@@ -0,0 +1,45 @@
+package controller;
+
+import config.InstrumentedDataSource;
+import dto.PoolStats;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/pool")
+public class PoolController {
+
+    private final InstrumentedDataSource dataSource;
+    private final InstrumentedDataSource replicaDataSource;
+
+    /**
+     * Constructor for PoolController.
+     * @param dataSource The pooled DataSource of the primary database to report on.
+     * @param replicaDataSource The pooled DataSource of the read replica to report on.
+     */
+    public PoolController(@Qualifier("dataSource") InstrumentedDataSource dataSource,
+                          @Qualifier("replicaDataSource") InstrumentedDataSource replicaDataSource) {
+        this.dataSource = dataSource;
+        this.replicaDataSource = replicaDataSource;
+    }
+
+    /**
+     * Retrieves the current statistics of the primary connection pool.
+     * @return Snapshot of the pool state.
+     */
+    @GetMapping
+    public PoolStats getPoolStats() {
+        return dataSource.getStats();
+    }
+
+    /**
+     * Retrieves the current statistics of the read replica connection pool.
+     * @return Snapshot of the pool state.
+     */
+    @GetMapping("/replica")
+    public PoolStats getReplicaPoolStats() {
+        return replicaDataSource.getStats();
+    }
+}
@@ -1,173 +1,155 @@
 package controller;
 
+import config.ReplicaRoutingDataSource;
+import dao.MovieDao;
+import dao.ResourceVersions;
+import dao.ResourceVersions.Resource;
 import dao.SessionDao;
+import dto.BookingConfirmation;
+import dto.BookingRequest;
+import dto.HoldRequest;
+import dto.Page;
+import dto.SeatHold;
+import dto.SessionView;
 import model.Seat;
+import model.SeatMap;
 import model.Session;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import service.BookingService;
+import service.JsonExporter;
+import service.SeatAllocator;
+import service.SeatHoldService;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/sessions")
 public class SessionController {
 
     private final SessionDao sessionDao;
+    private final SeatHoldService seatHoldService;
+    private final SeatAllocator seatAllocator;
+    private final MovieDao movieDao;
+    private final JsonExporter jsonExporter;
+    private final ResourceVersions resourceVersions;
+    private final BookingService bookingService;
+    private final AsyncTaskExecutor requestExecutor;
 
     /**
      * Constructor for SessionController.
      * @param sessionDao Instance of SessionDao.
+     * @param seatHoldService Instance of SeatHoldService.
+     * @param seatAllocator Instance of SeatAllocator.
+     * @param movieDao Instance of MovieDao.
+     * @param jsonExporter Instance of JsonExporter.
+     * @param resourceVersions Instance of ResourceVersions.
+     * @param bookingService Instance of BookingService.
+     * @param requestExecutor Executor of asynchronous requests.
      */
-    public SessionController(SessionDao sessionDao){
+    public SessionController(SessionDao sessionDao, SeatHoldService seatHoldService,
+                             SeatAllocator seatAllocator, MovieDao movieDao,
+                             JsonExporter jsonExporter, ResourceVersions resourceVersions,
+                             BookingService bookingService, AsyncTaskExecutor requestExecutor){
         this.sessionDao = sessionDao;
+        this.seatHoldService = seatHoldService;
+        this.seatAllocator = seatAllocator;
+        this.movieDao = movieDao;
+        this.jsonExporter = jsonExporter;
+        this.resourceVersions = resourceVersions;
+        this.bookingService = bookingService;
+        this.requestExecutor = requestExecutor;
     }
 
     /**
-     * Retrieves all sessions.
-     * @return List of all sessions.
+     * Retrieves sessions, one page at a time.
+     * @param cursor Cursor returned with the previous page; omit for the first page.
+     * @param limit Maximum number of sessions to return.
+     * @return Page of sessions.
      */
     @GetMapping
-    public List<Session> getAllSessions() {
-        return sessionDao.getSessions();
+    public Page<SessionView> getAllSessions(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "" + Page.DEFAULT_LIMIT) int limit) {
+        return sessionDao.getSessions(cursor, limit);
+    }
+
+    /**
+     * Exports all sessions as a JSON array streamed straight from the database.
+     * @return Streaming response with all sessions.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSessions() {
+        return jsonExporter.stream(action ->
+                sessionDao.forEachSession(session -> action.accept(SessionView.of(session))));
     }
 
     /**
      * Retrieves a session by its ID.
      * @param id The ID of the session to retrieve.
-     * @return The session with the specified ID.
+     * @param request The request, answered with 304 Not Modified when the client's copy is current.
+     * @return The session with the specified ID, or null when not modified.
      */
     @GetMapping("/{id}")
-    public Session getSessionById(@PathVariable Long id) {
-        return sessionDao.getSessionById(id);
+    public SessionView getSessionById(@PathVariable Long id, WebRequest request) {
+        ResourceVersions.Stamp stamp = resourceVersions.stamp(Resource.SESSIONS);
+        if (request.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return null;
+        }
+        return sessionDao.getSessionViewById(id);
     }
 
     /**
-     * Retrieves available seats for a session.
+     * Retrieves the best available seats for a session.
      * @param id The ID of the session.
      * @param numOfTickets Number of tickets to find.
-     * @return List of available seats for the session.
+     * @return List of the chosen seats, adjacent whenever a row has room for all of them.
      */
     @GetMapping("/{id}/seats")
     public List<Seat> getSessionSeats(@PathVariable Long id, @RequestParam Integer numOfTickets) {
-
-        List<Seat> availableSeats = sessionDao.getAvailableSeats(id);
-
-        // Sort available seats by their distance from the center of the screen
-        availableSeats.sort(Comparator.comparingInt(this::calculateDistanceFromCenter));
-
-        List<Seat> preferredSeats = new ArrayList<>();
-
-        int consecutiveSeats = 0;
-        Seat lastSeat = null;
-
-        // Select preferred seats
-        for (Seat seat : availableSeats) {
-            // Check if the seat is in a preferred location
-            if (isPreferredLocation(seat)) {
-                // If selecting multiple tickets, make sure seats are adjacent
-                if (consecutiveSeats < numOfTickets) {
-                    if (lastSeat == null || isAdjacent(seat, lastSeat)) {
-                        preferredSeats.add(seat);
-                        consecutiveSeats++;
-                    } else {
-                        preferredSeats.clear(); // Reset previous selection if seats are not adjacent
-                        consecutiveSeats = 1; // Reset counter
-                        preferredSeats.add(seat);
-                    }
-                } else {
-                    break; // Enough seats selected
-                }
-                lastSeat = seat;
-            }
-        }
-
-        // Check if the number of added tickets matches the expected
-        while (preferredSeats.size() < numOfTickets) {
-            availableSeats.remove(lastSeat);
-            // Find the nearest available seat to the last selected seat
-            Seat nearestSeat = findNearestAvailableSeat(lastSeat, availableSeats);
-
-            // Check if  nearest seat is found
-            if (nearestSeat != null) {
-                // Add the nearest seat to the selection
-                preferredSeats.add(nearestSeat);
-                availableSeats.remove(nearestSeat);
-                // Update last seat to the nearest seat
-                lastSeat = nearestSeat;
-            } else {
-                // Break the loop if no more available seats
-                break;
-            }
-        }
-
-        return preferredSeats;
-    }
-
-    // Method to find the nearest available seat to the selected seat
-    private Seat findNearestAvailableSeat(Seat selectedSeat, List<Seat> availableSeats) {
-        Seat nearestSeat = null;
-        double minDistance = Double.MAX_VALUE;
-
-        // Iterate through available seats to find the nearest one
-        for (Seat seat : availableSeats) {
-            if (seat.isAvailable()) { // Check if the seat is available
-                double distance = calculateDistance(selectedSeat, seat);
-                if (distance < minDistance) { // Update the nearest seat if the distance is smaller
-                    nearestSeat = seat;
-                    minDistance = distance;
-                }
-            }
-        }
-
-        return nearestSeat;
-    }
-
-    // Method to calculate the distance between two seats
-    private double calculateDistance(Seat seat1, Seat seat2) {
-        int dx = seat1.getRowNr() - seat2.getRowNr();
-        int dy = seat1.getSeatNr() - seat2.getSeatNr();
-        return Math.sqrt(dx * dx + dy * dy);
+        SeatMap taken = sessionDao.getOccupiedSeats(id).union(seatHoldService.getHeldSeats(id));
+        return seatAllocator.allocate(taken, numOfTickets).toSeatList(true);
     }
 
-    // Method to calculate the distance from a seat to the center of the screen
-    private int calculateDistanceFromCenter(Seat seat) {
-        int numRows = 9; // Assume there are 9 rows
-        int numSeatsInRow = 10; // Assume there are 10 seats per row
-
-        int centralRow = numRows / 2;
-        int centralSeat = numSeatsInRow / 2;
-
-        int rowDifference = Math.abs(seat.getRowNr() - centralRow);
-        int seatDifference = Math.abs(seat.getSeatNr() - centralSeat);
-
-        return rowDifference + seatDifference;
-    }
-
-    // Method to check if a seat is in a preferred location
-    private boolean isPreferredLocation(Seat seat) {
-        int optimalDistance = 5; // Optimal distance from the screen center
-        int minDistanceToScreen = 2; // Minimum distance to the screen
-
-        // Check if the seat is within the optimal distance from the center and not too close to the screen
-        return calculateDistanceFromCenter(seat) <= optimalDistance && seat.getRowNr() >= minDistanceToScreen;
-    }
-
-    // Method to check if two seats are adjacent
-    private boolean isAdjacent(Seat seat1, Seat seat2) {
-        return seat1.getRowNr() == seat2.getRowNr() && Math.abs(seat1.getSeatNr() - seat2.getSeatNr()) == 1;
+    /**
+     * Retrieves the best available seats for a session on a virtual thread, releasing the servlet thread.
+     * @param id The ID of the session.
+     * @param numOfTickets Number of tickets to find.
+     * @return Future list of the chosen seats.
+     */
+    @GetMapping("/{id}/seats/async")
+    public CompletableFuture<List<Seat>> getSessionSeatsAsync(@PathVariable Long id,
+                                                              @RequestParam Integer numOfTickets) {
+        return requestExecutor.submitCompletable(() -> getSessionSeats(id, numOfTickets));
     }
 
     /**
      * Creates a new session.
      * @param session The session object to create.
-     * @return The created session object.
+     * @return The created session with its movie and language flattened into it.
      */
     @Transactional
     @PostMapping
-    public Session createSession(@RequestBody Session session) {
-        return sessionDao.insertSession(session);
+    public SessionView createSession(@RequestBody Session session) {
+        movieDao.invalidateWeekMovies();
+        // The request references the movie and language by ID only, read their names back
+        return sessionDao.getSessionViewById(sessionDao.insertSession(session).getId());
+    }
+
+    /**
+     * Creates many sessions in one request using JDBC batch inserts.
+     * @param sessions The sessions to create; the movie and language are referenced by ID.
+     * @return The IDs of the created sessions.
+     */
+    @PostMapping("/bulk")
+    public List<Long> createSessions(@RequestBody List<Session> sessions) {
+        List<Long> ids = sessionDao.insertSessions(sessions);
+        movieDao.invalidateWeekMovies();
+        return ids;
     }
 
     /**
@@ -178,5 +160,58 @@ public class SessionController {
     @DeleteMapping("/{id}")
     public void deleteSession(@PathVariable Long id) {
         sessionDao.deleteSession(id);
+        movieDao.invalidateWeekMovies();
+    }
+
+    /**
+     * Holds seats for a session for a limited time.
+     * @param id The ID of the session.
+     * @param request The seats to hold and the hold duration.
+     * @return The created hold.
+     */
+    @PostMapping("/{id}/holds")
+    public SeatHold holdSeats(@PathVariable Long id, @RequestBody HoldRequest request) {
+        return seatHoldService.holdSeats(id, request.getSeats(), request.getMinutes());
+    }
+
+    /**
+     * Confirms a hold, turning the held seats into occupied ones.
+     * @param id The ID of the session.
+     * @param holdId The ID of the hold.
+     * @return The confirmed hold.
+     */
+    @PostMapping("/{id}/holds/{holdId}/confirm")
+    public SeatHold confirmHold(@PathVariable Long id, @PathVariable String holdId) {
+        return seatHoldService.confirmHold(id, holdId);
+    }
+
+    /**
+     * Releases a hold before it expires.
+     * @param id The ID of the session.
+     * @param holdId The ID of the hold.
+     */
+    @DeleteMapping("/{id}/holds/{holdId}")
+    public void releaseHold(@PathVariable Long id, @PathVariable String holdId) {
+        seatHoldService.releaseHold(id, holdId);
+    }
+
+    /**
+     * Books seats in a session for a customer. The response is sent once the booking is committed.
+     * @param id The ID of the session.
+     * @param idempotencyKey Key chosen by the client; retries with the same key return the original booking.
+     * @param request The customer and the seats to book.
+     * @return Future confirmed booking, with the time of the write for the client's next reads.
+     */
+    @PostMapping("/{id}/bookings")
+    public CompletableFuture<ResponseEntity<BookingConfirmation>> bookSeats(
+            @PathVariable Long id,
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
+            @RequestBody BookingRequest request) {
+        // Committed on the session's writer thread, which knows nothing of this request
+        return bookingService.book(id, idempotencyKey, request)
+                .thenApply(confirmation -> ResponseEntity.ok()
+                        .header(ReplicaRoutingDataSource.LAST_WRITE_HEADER,
+                                String.valueOf(confirmation.getConfirmedAtMillis()))
+                        .body(confirmation));
     }
 }
@@ -0,0 +1,31 @@
+package controller;
+
+import config.StartupTimer;
+import dto.StartupReport;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/startup")
+public class StartupController {
+
+    private final StartupTimer startupTimer;
+
+    /**
+     * Constructor for StartupController.
+     * @param startupTimer The timer of the startup phases.
+     */
+    public StartupController(StartupTimer startupTimer) {
+        this.startupTimer = startupTimer;
+    }
+
+    /**
+     * Retrieves how long the last startup took, phase by phase.
+     * @return The startup report.
+     */
+    @GetMapping
+    public StartupReport getStartupReport() {
+        return startupTimer.getReport();
+    }
+}
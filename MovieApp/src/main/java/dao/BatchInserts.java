@@ -0,0 +1,56 @@
+package dao;
+
+import exception.BadRequestException;
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Persists large numbers of new entities through JDBC batches.
+ */
+public final class BatchInserts {
+
+    /**
+     * Number of inserts sent to the database per JDBC batch. Also used as the flush interval,
+     * so the persistence context never holds more than one batch.
+     */
+    public static final int BATCH_SIZE = 50;
+
+    private BatchInserts() {
+    }
+
+    /**
+     * Persists new entities, flushing and clearing the persistence context after every batch.
+     * Must be called inside a transaction.
+     *
+     * @param em       The entity manager to persist with.
+     * @param entities The entities to persist; their IDs must not be set.
+     * @param prepare  Action run on every entity before it is persisted, e.g. to resolve references.
+     * @param idOf     Function reading the generated ID of an entity.
+     * @param <T>      Type of the entities.
+     * @return The generated IDs, in the order of the given entities.
+     */
+    public static <T> List<Long> persistAll(EntityManager em, List<T> entities, Consumer<T> prepare,
+                                            Function<T, Long> idOf) {
+        List<Long> ids = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            T entity = entities.get(i);
+            if (idOf.apply(entity) != null) {
+                throw new BadRequestException("Bulk import only creates new rows, found ID " + idOf.apply(entity));
+            }
+            prepare.accept(entity);
+            em.persist(entity);
+            ids.add(idOf.apply(entity));
+            if ((i + 1) % BATCH_SIZE == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        return ids;
+    }
+}
@@ -0,0 +1,152 @@
+package dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import model.Booking;
+import model.Customer;
+import model.SeatMap;
+import model.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Data Access Object (DAO) class for handling booking-related database operations.
+ */
+@Repository
+public class BookingDao {
+    @PersistenceContext
+    private EntityManager em;
+
+    private final SeatInventory seatInventory;
+    private final TasteProfileDao tasteProfileDao;
+
+    /**
+     * Constructor for BookingDao.
+     *
+     * @param seatInventory   The inventory holding the occupied seats of every session.
+     * @param tasteProfileDao Instance of TasteProfileDao.
+     */
+    public BookingDao(SeatInventory seatInventory, TasteProfileDao tasteProfileDao) {
+        this.seatInventory = seatInventory;
+        this.tasteProfileDao = tasteProfileDao;
+    }
+
+    /**
+     * Retrieves the bookings made with any of the given idempotency keys.
+     * Reads from the primary, so that a retry sees a booking committed a moment ago.
+     *
+     * @param keys The idempotency keys to look up.
+     * @return The bookings found, by idempotency key.
+     */
+    @Transactional
+    public Map<String, Booking> getBookingsByKeys(Collection<String> keys) {
+        return em.createQuery("select b from Booking b where b.idempotencyKey in :keys", Booking.class)
+                .setParameter("keys", keys)
+                .getResultStream()
+                .collect(Collectors.toMap(Booking::getIdempotencyKey, Function.identity()));
+    }
+
+    /**
+     * Retrieves which of the given customers exist.
+     *
+     * @param customerIds The IDs of the customers.
+     * @return The IDs of the customers that exist.
+     */
+    @Transactional
+    public Set<Long> getExistingCustomerIds(Collection<Long> customerIds) {
+        return new HashSet<>(em.createQuery("select c.id from Customer c where c.id in :ids", Long.class)
+                .setParameter("ids", customerIds)
+                .getResultList());
+    }
+
+    /**
+     * Books seats of one session for many customers in one transaction: all seats are occupied with a
+     * single update of the session, the customers' taste profiles are updated and the bookings are inserted
+     * in JDBC batches. Fails without changes if any of the seats is already taken.
+     *
+     * @param sessionId The ID of the session.
+     * @param bookings  The new bookings; the customer is referenced by ID.
+     * @return The IDs of the inserted bookings.
+     */
+    @Transactional
+    public List<Long> insertBookings(Long sessionId, List<Booking> bookings) {
+        SeatMap seats = SeatMap.EMPTY;
+        for (Booking booking : bookings) {
+            seats = seats.union(booking.getSeats());
+        }
+        seatInventory.occupySeats(sessionId, seats);
+
+        LocalDateTime bookedAt = LocalDateTime.now();
+        bookings.forEach(booking -> booking.setBookedAt(bookedAt));
+        tasteProfileDao.addBookings(sessionId, bookings);
+
+        return BatchInserts.persistAll(em, bookings, booking -> {
+            booking.setSession(em.getReference(Session.class, sessionId));
+            booking.setCustomer(em.getReference(Customer.class, booking.getCustomer().getId()));
+        }, Booking::getId);
+    }
+
+    /**
+     * Records the sessions in the history of new customers as bookings without seats,
+     * and builds the customers' taste profiles from them.
+     * Must be called inside the transaction that inserts the customers.
+     *
+     * @param customers The new customers; the sessions of their history are referenced by ID.
+     */
+    public void insertHistory(List<Customer> customers) {
+        List<Booking> bookings = new ArrayList<>();
+        List<Long> customerIds = new ArrayList<>();
+        LocalDateTime bookedAt = LocalDateTime.now();
+        for (Customer customer : customers) {
+            if (customer.getHistory() == null || customer.getHistory().isEmpty()) {
+                continue;
+            }
+            customerIds.add(customer.getId());
+            for (Session session : customer.getHistory()) {
+                bookings.add(new Booking(null, session, customer, new SeatMap(0L, 0L), null, bookedAt));
+            }
+        }
+        if (bookings.isEmpty()) {
+            return;
+        }
+        BatchInserts.persistAll(em, bookings, booking -> {
+            booking.setSession(em.getReference(Session.class, booking.getSession().getId()));
+            booking.setCustomer(em.getReference(Customer.class, booking.getCustomer().getId()));
+        }, Booking::getId);
+        tasteProfileDao.rebuild(customerIds);
+    }
+
+    /**
+     * Deletes all bookings of a customer and frees their seats.
+     * Must be called inside the transaction that deletes the customer.
+     *
+     * @param customerId The ID of the customer.
+     */
+    public void deleteBookingsOf(Long customerId) {
+        Map<Long, SeatMap> seats = new HashMap<>();
+        for (Booking booking : em.createQuery("select b from Booking b where b.customer.id = :id", Booking.class)
+                .setParameter("id", customerId)
+                .getResultList()) {
+            seats.merge(booking.getSession().getId(), booking.getSeats(), SeatMap::union);
+        }
+        em.createQuery("delete from Booking b where b.customer.id = :id")
+                .setParameter("id", customerId)
+                .executeUpdate();
+        seats.forEach((sessionId, booked) -> {
+            if (!booked.isEmpty()) {
+                seatInventory.releaseSeats(sessionId, booked);
+            }
+        });
+    }
+}
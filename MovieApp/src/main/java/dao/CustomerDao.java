@@ -1,15 +1,17 @@
 package dao;
 
+import dto.Cursor;
+import dto.CustomerView;
+import dto.Page;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import model.Customer;
-import model.Movie;
-import model.Session;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object (DAO) class for handling customer-related database operations.
@@ -19,36 +21,85 @@ public class CustomerDao {
     @PersistenceContext
     private EntityManager em;
 
+    private final BookingDao bookingDao;
+
+    /**
+     * Constructor for CustomerDao.
+     *
+     * @param bookingDao Instance of BookingDao.
+     */
+    public CustomerDao(BookingDao bookingDao) {
+        this.bookingDao = bookingDao;
+    }
+
     /**
-     * Retrieves a list of all customers from the database.
+     * Retrieves one page of customers ordered by ID.
      *
-     * @return List of all customers.
+     * @param cursor Cursor returned with the previous page, or null for the first page.
+     * @param limit  Maximum number of customers to return.
+     * @return Page of customers.
      */
-    public List<Customer> getCustomers() {
-        return em.createQuery("select c from Customer c", Customer.class).getResultList();
+    @Transactional(readOnly = true)
+    public Page<CustomerView> getCustomers(String cursor, int limit) {
+        int pageSize = Page.clampLimit(limit);
+        List<CustomerView> rows = em.createQuery("select new dto.CustomerView(c.id, c.firstName, c.lastName,"
+                        + " c.birthDate, c.email) from Customer c where c.id > :afterId order by c.id", CustomerView.class)
+                .setParameter("afterId", Cursor.toId(cursor))
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+        return Page.of(rows, pageSize, c -> Cursor.ofId(c.getId()));
+    }
+
+    /**
+     * Runs an action for every customer in the database without holding them all in memory.
+     *
+     * @param action The action to run for every customer.
+     */
+    @Transactional(readOnly = true)
+    public void forEachCustomer(Consumer<? super Customer> action) {
+        ResultStreams.forEach(em, em.createQuery("select c from Customer c order by c.id", Customer.class), action);
     }
 
     /**
      * Inserts a new customer into the database or updates an existing one.
+     * The history of a new customer is recorded as bookings; the bookings of an existing customer are never
+     * changed this way.
      *
      * @param customer The customer object to insert or update.
      * @return The inserted or updated customer object.
      */
+    @Transactional
     public Customer insertCustomer(Customer customer) {
         if (customer.getId() == null) {
             em.persist(customer);
+            bookingDao.insertHistory(List.of(customer));
         } else {
             em.merge(customer);
         }
         return customer;
     }
 
+    /**
+     * Inserts many new customers using JDBC batches. History sessions are referenced by ID
+     * and recorded as bookings, from which the taste profiles of the customers are built.
+     *
+     * @param customers The customers to insert.
+     * @return The IDs of the inserted customers.
+     */
+    @Transactional
+    public List<Long> insertCustomers(List<Customer> customers) {
+        List<Long> ids = BatchInserts.persistAll(em, customers, customer -> { }, Customer::getId);
+        bookingDao.insertHistory(customers);
+        return ids;
+    }
+
     /**
      * Retrieves a customer from the database by their ID.
      *
      * @param id The ID of the customer to retrieve.
      * @return The customer with the specified ID.
      */
+    @Transactional(readOnly = true)
     public Customer getCustomerById(Long id) {
         TypedQuery<Customer> query = em.createQuery("select c from Customer c where c.id = :id", Customer.class);
         query.setParameter("id", id);
@@ -56,7 +107,7 @@ public class CustomerDao {
     }
 
     /**
-     * Deletes a customer from the database by their ID.
+     * Deletes a customer from the database by their ID, together with their bookings, whose seats become free.
      *
      * @param id The ID of the customer to delete.
      */
@@ -64,20 +115,36 @@ public class CustomerDao {
     public void deleteCustomer(Long id) {
         Customer customer = em.find(Customer.class, id);
         if (customer != null) {
+            bookingDao.deleteBookingsOf(id);
             em.remove(customer);
         }
     }
 
     /**
-     * Retrieves a list of movies watched by a specific customer.
+     * Retrieves the IDs of all genres of the movies watched by a specific customer, from their taste profile.
+     *
+     * @param customerId The ID of the customer.
+     * @return List of distinct genre IDs.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getWatchedGenreIds(Long customerId) {
+        return em.createQuery("select key(g) from TasteProfile p join p.genres g where p.customerId = :id",
+                        Long.class)
+                .setParameter("id", customerId)
+                .getResultList();
+    }
+
+    /**
+     * Retrieves the age restrictions of the movies watched by a specific customer, from their taste profile.
      *
      * @param customerId The ID of the customer.
-     * @return List of movies watched by the customer.
+     * @return List of distinct age restrictions.
      */
-    public List<Movie> getWatchedMovies(Long customerId) {
-        Customer customer = getCustomerById(customerId);
-        return customer.getHistory().stream()
-                .map(Session::getMovie)
-                .toList();
+    @Transactional(readOnly = true)
+    public List<String> getWatchedAgeRestrictions(Long customerId) {
+        return em.createQuery("select key(a) from TasteProfile p join p.ageRestrictions a where p.customerId = :id",
+                        String.class)
+                .setParameter("id", customerId)
+                .getResultList();
     }
 }
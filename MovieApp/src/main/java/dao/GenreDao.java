@@ -1,9 +1,13 @@
 package dao;
 
+import dao.ResourceVersions.Resource;
+import dto.Cursor;
+import dto.Page;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.TypedQuery;
 import model.Genre;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,13 +21,34 @@ public class GenreDao {
     @PersistenceContext
     private EntityManager em;
 
+    private final ResourceVersions resourceVersions;
+
     /**
-     * Retrieves a list of all genres from the database.
+     * Constructor for GenreDao.
      *
-     * @return List of all genres.
+     * @param resourceVersions The version counters bumped on every write.
      */
-    public List<Genre> getGenres() {
-        return em.createQuery("select g from Genre g", Genre.class).getResultList();
+    public GenreDao(ResourceVersions resourceVersions) {
+        this.resourceVersions = resourceVersions;
+    }
+
+    /**
+     * Retrieves one page of genres ordered by ID. Pages are kept in the query cache.
+     *
+     * @param cursor Cursor returned with the previous page, or null for the first page.
+     * @param limit  Maximum number of genres to return.
+     * @return Page of genres.
+     */
+    @Transactional(readOnly = true)
+    public Page<Genre> getGenres(String cursor, int limit) {
+        int pageSize = Page.clampLimit(limit);
+        List<Genre> rows = em.createQuery(
+                        "select g from Genre g where g.id > :afterId order by g.id", Genre.class)
+                .setParameter("afterId", Cursor.toId(cursor))
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+        return Page.of(rows, pageSize, g -> Cursor.ofId(g.getId()));
     }
 
     /**
@@ -35,22 +60,27 @@ public class GenreDao {
     public Genre insertGenre(Genre genre) {
         if (genre.getId() == null) {
             em.persist(genre);
+            resourceVersions.bump(Resource.GENRES);
         } else {
             em.merge(genre);
+            resourceVersions.bump(Resource.GENRES, Resource.MOVIES);
         }
         return genre;
     }
 
     /**
-     * Retrieves a genre from the database by its ID.
+     * Retrieves a genre by its ID, served from the second-level cache when possible.
      *
      * @param id The ID of the genre to retrieve.
      * @return The genre with the specified ID.
      */
+    @Transactional(readOnly = true)
     public Genre getGenreById(Long id) {
-        TypedQuery<Genre> query = em.createQuery("select g from Genre g where g.id = :id", Genre.class);
-        query.setParameter("id", id);
-        return query.getSingleResult();
+        Genre genre = em.find(Genre.class, id);
+        if (genre == null) {
+            throw new NoResultException("No genre with ID " + id);
+        }
+        return genre;
     }
 
     /**
@@ -63,6 +93,7 @@ public class GenreDao {
         Genre genre = em.find(Genre.class, id);
         if (genre != null) {
             em.remove(genre);
+            resourceVersions.bump(Resource.GENRES, Resource.MOVIES);
         }
     }
 }
@@ -1,9 +1,13 @@
 package dao;
 
+import dao.ResourceVersions.Resource;
+import dto.Cursor;
+import dto.Page;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.TypedQuery;
 import model.Language;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,13 +21,34 @@ public class LanguageDao {
     @PersistenceContext
     private EntityManager em;
 
+    private final ResourceVersions resourceVersions;
+
     /**
-     * Retrieves a list of all languages from the database.
+     * Constructor for LanguageDao.
      *
-     * @return List of all languages.
+     * @param resourceVersions The version counters bumped on every write.
      */
-    public List<Language> getLanguages() {
-        return em.createQuery("select l from Language l", Language.class).getResultList();
+    public LanguageDao(ResourceVersions resourceVersions) {
+        this.resourceVersions = resourceVersions;
+    }
+
+    /**
+     * Retrieves one page of languages ordered by ID. Pages are kept in the query cache.
+     *
+     * @param cursor Cursor returned with the previous page, or null for the first page.
+     * @param limit  Maximum number of languages to return.
+     * @return Page of languages.
+     */
+    @Transactional(readOnly = true)
+    public Page<Language> getLanguages(String cursor, int limit) {
+        int pageSize = Page.clampLimit(limit);
+        List<Language> rows = em.createQuery(
+                        "select l from Language l where l.id > :afterId order by l.id", Language.class)
+                .setParameter("afterId", Cursor.toId(cursor))
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+        return Page.of(rows, pageSize, l -> Cursor.ofId(l.getId()));
     }
 
     /**
@@ -35,22 +60,27 @@ public class LanguageDao {
     public Language insertLanguage(Language language) {
         if (language.getId() == null) {
             em.persist(language);
+            resourceVersions.bump(Resource.LANGUAGES);
         } else {
             em.merge(language);
+            resourceVersions.bump(Resource.LANGUAGES, Resource.SESSIONS);
         }
         return language;
     }
 
     /**
-     * Retrieves a language from the database by its ID.
+     * Retrieves a language by its ID, served from the second-level cache when possible.
      *
      * @param id The ID of the language to retrieve.
      * @return The language with the specified ID.
      */
+    @Transactional(readOnly = true)
     public Language getLanguageById(Long id) {
-        TypedQuery<Language> query = em.createQuery("select l from Language l where l.id = :id", Language.class);
-        query.setParameter("id", id);
-        return query.getSingleResult();
+        Language language = em.find(Language.class, id);
+        if (language == null) {
+            throw new NoResultException("No language with ID " + id);
+        }
+        return language;
     }
 
     /**
@@ -63,6 +93,7 @@ public class LanguageDao {
         Language language = em.find(Language.class, id);
         if (language != null) {
             em.remove(language);
+            resourceVersions.bump(Resource.LANGUAGES, Resource.SESSIONS);
         }
     }
 }
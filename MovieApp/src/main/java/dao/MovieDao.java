@@ -1,8 +1,15 @@
 package dao;
 
+import dao.ResourceVersions.Resource;
+import dto.Cursor;
+import dto.MovieSearchCriteria;
+import dto.Page;
+import dto.TitleSuggestion;
+import exception.BadRequestException;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
+import model.Genre;
 import model.Movie;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,8 +17,15 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Data Access Object (DAO) class for handling movie-related database operations.
@@ -21,29 +35,106 @@ public class MovieDao {
     @PersistenceContext
     private EntityManager em;
 
+    // JPQL of every search shape seen so far, see searchQuery
+    private final Map<Integer, String> searchQueries = new ConcurrentHashMap<>();
+
+    // Week schedules keyed by the Monday of their ISO week, see getWeekMovies
+    private final Map<LocalDate, List<Movie>> weekMovies = new ConcurrentHashMap<>();
+    private final AtomicLong weekMoviesGeneration = new AtomicLong();
+
+    // Titles of all movies for suggestions, see suggestTitles
+    private final TitleIndex titleIndex = new TitleIndex();
+
+    private final ResourceVersions resourceVersions;
+
+    /**
+     * Constructor for MovieDao.
+     *
+     * @param resourceVersions The version counters bumped on every write.
+     */
+    public MovieDao(ResourceVersions resourceVersions) {
+        this.resourceVersions = resourceVersions;
+    }
+
     /**
-     * Retrieves a list of all movies from the database.
+     * Retrieves one page of movies ordered by ID, with their genres fetched.
      *
-     * @return List of all movies.
+     * @param cursor Cursor returned with the previous page, or null for the first page.
+     * @param limit  Maximum number of movies to return.
+     * @return Page of movies.
      */
-    public List<Movie> getMovies() {
-        return em.createQuery("select m from Movie m", Movie.class).getResultList();
+    @Transactional(readOnly = true)
+    public Page<Movie> getMovies(String cursor, int limit) {
+        return searchMoviesByFilters(new MovieSearchCriteria(), cursor, limit);
     }
 
     /**
-     * Retrieves a list of movies screening during the current week.
+     * Retrieves a list of movies screening during the current week, with their genres fetched.
      *
-     * @return List of movies screening during the current week.
+     * @return List of movies screening during the current week, ordered by ID.
      */
+    @Transactional(readOnly = true)
     public List<Movie> getWeekMovies() {
-        LocalDate today = LocalDate.now();
-        LocalDate startOfWeek = today.with(DayOfWeek.MONDAY);
-        LocalDate endOfWeek = today.with(DayOfWeek.SUNDAY);
+        return getWeekMovies(LocalDate.now());
+    }
 
-        return em.createQuery("select distinct m from Movie m join m.sessions s where s.startAt between :startOfWeek and :endOfWeek", Movie.class)
-                .setParameter("startOfWeek", startOfWeek.atStartOfDay())
-                .setParameter("endOfWeek", endOfWeek.atTime(LocalTime.MAX))
-                .getResultList();
+    /**
+     * Retrieves a list of movies screening during the ISO week of the given day, with their genres fetched.
+     * Schedules are cached per week until {@link #invalidateWeekMovies()}; the returned list is shared
+     * between callers and must not be modified.
+     *
+     * @param day Any day of the week to retrieve.
+     * @return List of movies screening during that week, ordered by ID.
+     */
+    @Transactional(readOnly = true)
+    public List<Movie> getWeekMovies(LocalDate day) {
+        LocalDate weekStart = day.with(DayOfWeek.MONDAY);
+        List<Movie> cached = weekMovies.get(weekStart);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = weekMoviesGeneration.get();
+        // Cached schedules are shared by every client, so they must not come from a lagging replica.
+        // The subquery lets HSQLDB range-scan sessions_startAt_idx for the week instead of probing the
+        // sessions of every movie ever screened.
+        List<Movie> movies = ReadYourWrites.onPrimary(() -> List.copyOf(em.createQuery(
+                        "select m from Movie m left join fetch m.genres"
+                        + " where m.id in (select s.movie.id from Session s"
+                        + " where s.startAt between :startOfWeek and :endOfWeek) order by m.id", Movie.class)
+                .setParameter("startOfWeek", weekStart.atStartOfDay())
+                .setParameter("endOfWeek", weekStart.with(DayOfWeek.SUNDAY).atTime(LocalTime.MAX))
+                .getResultList()));
+
+        weekMovies.put(weekStart, movies);
+        // Do not keep a schedule that was invalidated while it was being loaded
+        if (weekMoviesGeneration.get() != generation) {
+            weekMovies.remove(weekStart, movies);
+        }
+        LocalDate currentWeekStart = LocalDate.now().with(DayOfWeek.MONDAY);
+        weekMovies.keySet().removeIf(week -> week.isBefore(currentWeekStart));
+        return movies;
+    }
+
+    /**
+     * Drops all cached week schedules so that they are reloaded on next use.
+     * Inside a transaction this happens after commit.
+     */
+    public void invalidateWeekMovies() {
+        TransactionHooks.afterCommit(() -> {
+            weekMoviesGeneration.incrementAndGet();
+            weekMovies.clear();
+        });
+    }
+
+    /**
+     * Runs an action for every movie in the database without holding them all in memory.
+     *
+     * @param action The action to run for every movie.
+     */
+    @Transactional(readOnly = true)
+    public void forEachMovie(Consumer<? super Movie> action) {
+        ResultStreams.forEach(em, em.createQuery("select m from Movie m order by m.id", Movie.class), action);
     }
 
     /**
@@ -55,20 +146,55 @@ public class MovieDao {
     public Movie insertMovie(Movie movie) {
         if (movie.getId() == null) {
             em.persist(movie);
+            resourceVersions.bump(Resource.MOVIES);
         } else {
             em.merge(movie);
+            resourceVersions.bump(Resource.MOVIES, Resource.SESSIONS);
         }
+        Long id = movie.getId();
+        String title = movie.getTitle();
+        TransactionHooks.afterCommit(() -> titleIndex.put(id, title));
         return movie;
     }
 
     /**
-     * Retrieves a movie from the database by its ID.
+     * Inserts many new movies using JDBC batches. Genres are referenced by ID.
+     *
+     * @param movies The movies to insert.
+     * @return The IDs of the inserted movies.
+     * @throws BadRequestException If a genre of a movie lacks its ID.
+     */
+    @Transactional
+    public List<Long> insertMovies(List<Movie> movies) {
+        resourceVersions.bump(Resource.MOVIES);
+        List<Long> ids = BatchInserts.persistAll(em, movies, movie -> {
+            if (movie.getGenres() != null) {
+                if (movie.getGenres().stream().anyMatch(genre -> genre == null || genre.getId() == null)) {
+                    throw new BadRequestException("Every genre of movie " + movie.getTitle() + " needs its ID");
+                }
+                movie.setGenres(movie.getGenres().stream()
+                        .map(genre -> em.getReference(Genre.class, genre.getId()))
+                        .collect(Collectors.toList()));
+            }
+        }, Movie::getId);
+        Map<Long, String> titles = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            titles.put(ids.get(i), movies.get(i).getTitle());
+        }
+        TransactionHooks.afterCommit(() -> titleIndex.putAll(titles));
+        return ids;
+    }
+
+    /**
+     * Retrieves a movie from the database by its ID, with its genres fetched.
      *
      * @param id The ID of the movie to retrieve.
      * @return The movie with the specified ID.
      */
+    @Transactional(readOnly = true)
     public Movie getMovieById(Long id) {
-        TypedQuery<Movie> query = em.createQuery("select m from Movie m where m.id = :id", Movie.class);
+        TypedQuery<Movie> query = em.createQuery(
+                "select m from Movie m left join fetch m.genres where m.id = :id", Movie.class);
         query.setParameter("id", id);
         return query.getSingleResult();
     }
@@ -83,34 +209,209 @@ public class MovieDao {
         Movie movie = em.find(Movie.class, id);
         if (movie != null) {
             em.remove(movie);
+            resourceVersions.bump(Resource.MOVIES, Resource.SESSIONS);
+            TransactionHooks.afterCommit(() -> titleIndex.remove(id));
         }
     }
 
     /**
-     * Searches movies in the database based on the provided filters.
+     * Suggests movies whose titles match a partially typed, possibly misspelled query.
+     * Served from memory; see {@link TitleIndex}.
      *
-     * @param filters A map of filters (field name -> filter value) to apply to the movie search.
-     * @return List of movies matching the provided filters.
+     * @param query The typed text.
+     * @param limit Maximum number of suggestions.
+     * @return The suggested titles, the best match first.
      */
-    public List<Movie> searchMoviesByFilters(Map<String, String> filters) {
-        if (filters.isEmpty()) {
-            return getMovies();
+    public List<TitleSuggestion> suggestTitles(String query, int limit) {
+        return titleIndex.suggest(query, limit);
+    }
+
+    /**
+     * Loads the titles of all movies into the suggestion index. Movies inserted or deleted afterwards
+     * update the index once their transaction commits.
+     *
+     * @return The number of indexed titles.
+     */
+    @Transactional(readOnly = true)
+    public int loadTitleIndex() {
+        Map<Long, String> titles = new HashMap<>();
+        ResultStreams.forEach(em, em.createQuery("select m.id, m.title from Movie m", Object[].class),
+                row -> titles.put((Long) row[0], (String) row[1]));
+        titleIndex.putAll(titles);
+        return titleIndex.size();
+    }
+
+    /**
+     * Searches movies in the database based on the provided criteria, one page at a time.
+     * The page is found with an ID-only query, then its movies are fetched with their genres,
+     * so a page always costs two statements. Filters are bound with their real types, and every
+     * combination of filters maps to one fixed query string, so each shape is parsed only once
+     * and then served from Hibernate's query plan cache.
+     *
+     * @param criteria The filters and sort order of the search.
+     * @param cursor   Cursor returned with the previous page, or null for the first page.
+     * @param limit    Maximum number of movies to return.
+     * @return Page of movies matching the criteria.
+     */
+    @Transactional(readOnly = true)
+    public Page<Movie> searchMoviesByFilters(MovieSearchCriteria criteria, String cursor, int limit) {
+        int pageSize = Page.clampLimit(limit);
+        String sort = criteria.getSort() == null || criteria.getSort().isEmpty() ? "id" : criteria.getSort();
+        boolean descending = sort.startsWith("-");
+        SortField sortField = SortField.of(descending ? sort.substring(1) : sort);
+        Cursor.SortKey after = Cursor.toSortKey(cursor);
+
+        TypedQuery<Long> query = em.createQuery(searchQuery(criteria, sortField, descending, after != null), Long.class);
+        bindIfPresent(query, "title", criteria.getTitle());
+        bindIfPresent(query, "ageRestriction", criteria.getAgeRestriction());
+        bindIfPresent(query, "releasedFrom", criteria.getReleasedFrom());
+        bindIfPresent(query, "releasedTo", criteria.getReleasedTo());
+        bindIfPresent(query, "minDuration", criteria.getMinDuration());
+        bindIfPresent(query, "maxDuration", criteria.getMaxDuration());
+        bindIfPresent(query, "genreId", criteria.getGenreId());
+        bindIfPresent(query, "languageId", criteria.getLanguageId());
+        if (after != null) {
+            query.setParameter("afterId", after.id());
+            if (sortField != SortField.ID) {
+                query.setParameter("afterValue", sortField.parse(after.value()));
+            }
+        }
+
+        List<Movie> rows = getMoviesWithGenres(query.setMaxResults(pageSize + 1).getResultList());
+        return Page.of(rows, pageSize, m -> Cursor.ofSortKey(sortField.valueOf(m), m.getId()));
+    }
+
+    /**
+     * Retrieves movies by their IDs with their genres fetched, in a single query.
+     *
+     * @param ids The IDs of the movies.
+     * @return List of movies in the order of the given IDs.
+     */
+    @Transactional(readOnly = true)
+    public List<Movie> getMoviesWithGenres(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Movie> moviesById = new HashMap<>();
+        for (Movie movie : em.createQuery("select distinct m from Movie m left join fetch m.genres where m.id in :ids",
+                        Movie.class)
+                .setParameter("ids", ids)
+                .getResultList()) {
+            moviesById.put(movie.getId(), movie);
+        }
+        List<Movie> movies = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Movie movie = moviesById.get(id);
+            if (movie != null) {
+                movies.add(movie);
+            }
+        }
+        return movies;
+    }
+
+    // Returns the JPQL of one search shape, built on first use
+    private String searchQuery(MovieSearchCriteria criteria, SortField sortField, boolean descending,
+                               boolean hasCursor) {
+        int shape = (criteria.getTitle() != null ? 1 : 0)
+                | (criteria.getAgeRestriction() != null ? 1 << 1 : 0)
+                | (criteria.getReleasedFrom() != null ? 1 << 2 : 0)
+                | (criteria.getReleasedTo() != null ? 1 << 3 : 0)
+                | (criteria.getMinDuration() != null ? 1 << 4 : 0)
+                | (criteria.getMaxDuration() != null ? 1 << 5 : 0)
+                | (criteria.getGenreId() != null ? 1 << 6 : 0)
+                | (criteria.getLanguageId() != null ? 1 << 7 : 0)
+                | (hasCursor ? 1 << 8 : 0)
+                | (descending ? 1 << 9 : 0)
+                | sortField.ordinal() << 10;
+        return searchQueries.computeIfAbsent(shape, key -> buildSearchQuery(key, sortField, descending, hasCursor));
+    }
+
+    private static String buildSearchQuery(int shape, SortField sortField, boolean descending, boolean hasCursor) {
+        StringBuilder jpql = new StringBuilder("select m.id from Movie m where 1 = 1");
+        String[] predicates = {
+                " and m.title = :title",
+                " and m.ageRestriction = :ageRestriction",
+                " and m.releaseDate >= :releasedFrom",
+                " and m.releaseDate <= :releasedTo",
+                " and m.duration >= :minDuration",
+                " and m.duration <= :maxDuration",
+                // An IN subquery starts from the genre's rows in movieGenres; HSQLDB would run an
+                // EXISTS subquery once for every movie
+                " and m.id in (select gm.id from Movie gm join gm.genres g where g.id = :genreId)",
+                " and exists (select 1 from m.sessions s where s.language.id = :languageId)"
+        };
+        for (int i = 0; i < predicates.length; i++) {
+            if ((shape & (1 << i)) != 0) {
+                jpql.append(predicates[i]);
+            }
+        }
+
+        String order = descending ? " desc" : "";
+        String after = descending ? " < " : " > ";
+        if (hasCursor) {
+            if (sortField == SortField.ID) {
+                jpql.append(" and m.id").append(after).append(":afterId");
+            } else {
+                String property = "m." + sortField.property;
+                jpql.append(" and (").append(property).append(after).append(":afterValue or (")
+                        .append(property).append(" = :afterValue and m.id").append(after).append(":afterId))");
+            }
+        }
+        if (sortField != SortField.ID) {
+            jpql.append(" order by m.").append(sortField.property).append(order).append(", m.id").append(order);
+        } else {
+            jpql.append(" order by m.id").append(order);
+        }
+        return jpql.toString();
+    }
+
+    private static void bindIfPresent(TypedQuery<?> query, String name, Object value) {
+        if (value != null) {
+            query.setParameter(name, value);
         }
+    }
+
+    /**
+     * Fields movie searches can be sorted by.
+     */
+    private enum SortField {
+        ID("id", Long::valueOf),
+        TITLE("title", value -> value),
+        RELEASE_DATE("releaseDate", LocalDate::parse),
+        DURATION("duration", LocalTime::parse);
 
-        StringBuilder tempQuery = new StringBuilder("SELECT m FROM Movie m WHERE");
-        for (Map.Entry<String, String> entry : filters.entrySet()) {
-            String filter = entry.getKey();
-            tempQuery.append(String.format(" m.%s = :%s AND", filter, filter));
+        private final String property;
+        private final Function<String, Object> parser;
+
+        SortField(String property, Function<String, Object> parser) {
+            this.property = property;
+            this.parser = parser;
+        }
+
+        private static SortField of(String property) {
+            for (SortField field : values()) {
+                if (field.property.equals(property)) {
+                    return field;
+                }
+            }
+            throw new BadRequestException("Cannot sort movies by " + property);
         }
-        tempQuery.delete(tempQuery.length() - 5, tempQuery.length());
 
-        TypedQuery<Movie> query = em.createQuery(tempQuery.toString(), Movie.class);
-        for (Map.Entry<String, String> entry : filters.entrySet()) {
-            String filter = entry.getKey();
-            String value = entry.getValue();
-            query.setParameter(filter, value);
+        private Object parse(String value) {
+            try {
+                return parser.apply(value);
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor value: " + value, e);
+            }
         }
 
-        return query.getResultList();
+        private String valueOf(Movie movie) {
+            return switch (this) {
+                case ID -> String.valueOf(movie.getId());
+                case TITLE -> movie.getTitle();
+                case RELEASE_DATE -> movie.getReleaseDate().toString();
+                case DURATION -> movie.getDuration().toString();
+            };
+        }
     }
 }
@@ -0,0 +1,113 @@
+package dao;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing hints for read-only transactions when reads can go to a lagging replica.
+ * A thread that committed a write, or that serves a client which recently wrote, reads from the
+ * primary until the replica lag has passed, so it always sees its own writes.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Long> lastWriteMillis = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> pinned = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * Records that the current thread has just committed a write.
+     *
+     * @return The time of the write in epoch milliseconds.
+     */
+    public static long writeCommitted() {
+        long now = System.currentTimeMillis();
+        lastWriteMillis.set(now);
+        return now;
+    }
+
+    /**
+     * Records the time of an earlier write that the current thread must be able to read.
+     *
+     * @param writeMillis Time of the write in epoch milliseconds.
+     */
+    public static void readAfter(long writeMillis) {
+        Long current = lastWriteMillis.get();
+        if (current == null || current < writeMillis) {
+            lastWriteMillis.set(writeMillis);
+        }
+    }
+
+    /**
+     * Tells whether reads of the current thread must go to the primary.
+     *
+     * @param maxLagMillis The longest time a replica may lag behind the primary.
+     * @return True if the thread is pinned to the primary or wrote within the lag.
+     */
+    public static boolean requiresPrimary(long maxLagMillis) {
+        if (Boolean.TRUE.equals(pinned.get())) {
+            return true;
+        }
+        Long lastWrite = lastWriteMillis.get();
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < maxLagMillis;
+    }
+
+    /**
+     * Runs reads on the primary, for results that are cached and so must not come from a lagging replica.
+     * Must be called before the transaction runs its first statement.
+     *
+     * @param reads The reads to run.
+     * @param <T>   Type of the result.
+     * @return The result of the reads.
+     */
+    public static <T> T onPrimary(Supplier<T> reads) {
+        Boolean previous = pinned.get();
+        pinned.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            pinned.set(previous);
+        }
+    }
+
+    /**
+     * Forgets the hints of the current thread, at the end of a request.
+     */
+    public static void clear() {
+        lastWriteMillis.remove();
+        pinned.remove();
+    }
+
+    /**
+     * Hands the hints of the current thread over to a task that runs on another thread, such as the
+     * rest of an asynchronous request. The thread running the task gets its own hints back afterwards.
+     *
+     * @param task The task to hand the hints to.
+     * @return The task running with the hints of the current thread.
+     */
+    public static Runnable propagate(Runnable task) {
+        Long writeMillis = lastWriteMillis.get();
+        Boolean pinnedToPrimary = pinned.get();
+        return () -> {
+            Long previousWriteMillis = lastWriteMillis.get();
+            Boolean previousPinned = pinned.get();
+            set(lastWriteMillis, writeMillis);
+            set(pinned, pinnedToPrimary);
+            try {
+                task.run();
+            } finally {
+                set(lastWriteMillis, previousWriteMillis);
+                set(pinned, previousPinned);
+            }
+        };
+    }
+
+    // Removes rather than stores null, so that pooled threads keep no entries
+    private static <T> void set(ThreadLocal<T> hint, T value) {
+        if (value == null) {
+            hint.remove();
+        } else {
+            hint.set(value);
+        }
+    }
+}
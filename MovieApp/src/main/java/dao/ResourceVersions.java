@@ -0,0 +1,92 @@
+package dao;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Version counters of the catalog resources, bumped by the DAOs after every committed write.
+ * Controllers turn them into ETag and Last-Modified validators, so that a conditional GET can be
+ * answered with 304 Not Modified before the database is queried.
+ */
+@Component
+public class ResourceVersions {
+
+    /**
+     * Catalog resources that are versioned.
+     */
+    public enum Resource {
+        MOVIES, GENRES, LANGUAGES, SESSIONS
+    }
+
+    // Counters restart with the application, so every tag carries the start time as well
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final long startedAt = System.currentTimeMillis();
+    private final AtomicLongArray versions = new AtomicLongArray(Resource.values().length);
+    private final AtomicLongArray lastModified = new AtomicLongArray(Resource.values().length);
+
+    /**
+     * Constructor for ResourceVersions.
+     */
+    public ResourceVersions() {
+        for (Resource resource : Resource.values()) {
+            lastModified.set(resource.ordinal(), startedAt);
+        }
+    }
+
+    /**
+     * Bumps the versions of resources changed by a write.
+     * Inside a transaction this happens after commit.
+     *
+     * @param resources The changed resources.
+     */
+    public void bump(Resource... resources) {
+        TransactionHooks.afterCommit(() -> {
+            long now = System.currentTimeMillis();
+            for (Resource resource : resources) {
+                versions.incrementAndGet(resource.ordinal());
+                lastModified.accumulateAndGet(resource.ordinal(), now, Math::max);
+            }
+        });
+    }
+
+    /**
+     * Returns the validators of a response built from the given resources.
+     * Must be taken before the response is built, so that a write racing with it only makes the
+     * validators older than the response, never newer.
+     *
+     * @param resources The resources the response is built from.
+     * @return The ETag and Last-Modified of the response.
+     */
+    public Stamp stamp(Resource... resources) {
+        StringBuilder etag = new StringBuilder(epoch);
+        long modified = 0;
+        for (Resource resource : resources) {
+            etag.append('-').append(Long.toString(versions.get(resource.ordinal()), 36));
+            modified = Math.max(modified, lastModified.get(resource.ordinal()));
+        }
+        return new Stamp(etag.toString(), modified);
+    }
+
+    /**
+     * Validators of a response: a strong ETag, unquoted, and Last-Modified in epoch milliseconds.
+     *
+     * @param etag         The entity tag.
+     * @param lastModified The last modification time.
+     */
+    public record Stamp(String etag, long lastModified) {
+
+        /**
+         * Extends the validators of a response that also changes at a point in time,
+         * such as the start of a week.
+         *
+         * @param changedAt The latest time at which the response changed by itself.
+         * @return The extended validators.
+         */
+        public Stamp since(Instant changedAt) {
+            return new Stamp(etag + "-" + Long.toString(changedAt.getEpochSecond(), 36),
+                    Math.max(lastModified, changedAt.toEpochMilli()));
+        }
+    }
+}
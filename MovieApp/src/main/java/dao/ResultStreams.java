@@ -0,0 +1,46 @@
+package dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Streams query results row by row with constant memory use.
+ */
+public final class ResultStreams {
+
+    /**
+     * Number of rows fetched per round trip and kept in the persistence context at once.
+     */
+    public static final int CHUNK_SIZE = 500;
+
+    private ResultStreams() {
+    }
+
+    /**
+     * Runs an action for every row of a query, clearing the persistence context after every chunk
+     * so loaded entities do not pile up. Must be called inside a transaction, and the action
+     * must not keep references to the entities it is given.
+     *
+     * @param em     The entity manager the query was created with.
+     * @param query  The query to stream.
+     * @param action The action to run for every row.
+     * @param <T>    Type of the rows.
+     */
+    public static <T> void forEach(EntityManager em, TypedQuery<T> query, Consumer<? super T> action) {
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, CHUNK_SIZE);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        try (Stream<T> rows = query.getResultStream()) {
+            int count = 0;
+            for (var it = rows.iterator(); it.hasNext(); ) {
+                action.accept(it.next());
+                if (++count % CHUNK_SIZE == 0) {
+                    em.clear();
+                }
+            }
+        }
+    }
+}
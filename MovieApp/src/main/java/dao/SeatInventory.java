@@ -0,0 +1,119 @@
+package dao;
+
+import exception.NotFoundException;
+import exception.SeatsTakenException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import model.SeatMap;
+import model.Session;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps the seat state of every session as a {@link SeatMap} persisted with the session,
+ * together with a hot in-memory copy so availability lookups never hit the database.
+ */
+@Repository
+public class SeatInventory {
+    @PersistenceContext
+    private EntityManager em;
+
+    private final Map<Long, SeatMap> occupiedSeats = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the occupied seats of a session, loading them from the database on first use.
+     *
+     * @param sessionId The ID of the session.
+     * @return The occupied seats of the session.
+     * @throws NotFoundException If there is no such session.
+     */
+    public SeatMap getOccupiedSeats(Long sessionId) {
+        return occupiedSeats.computeIfAbsent(sessionId, this::loadOccupiedSeats);
+    }
+
+    /**
+     * Checks whether a seat is free in a given session.
+     *
+     * @param sessionId The ID of the session.
+     * @param rowNr     The row number of the seat.
+     * @param seatNr    The seat number within the row.
+     * @return True if the seat is not occupied.
+     */
+    public boolean isAvailable(Long sessionId, int rowNr, int seatNr) {
+        return !getOccupiedSeats(sessionId).contains(rowNr, seatNr);
+    }
+
+    /**
+     * Marks seats as occupied. Fails without changes if any of them is already taken.
+     *
+     * @param sessionId The ID of the session.
+     * @param seats     The seats to occupy.
+     */
+    @Transactional
+    public void occupySeats(Long sessionId, SeatMap seats) {
+        int updated = em.createNativeQuery("update sessions"
+                        + " set occupiedLow = BITOR(occupiedLow, ?1), occupiedHigh = BITOR(occupiedHigh, ?2)"
+                        + " where id = ?3 and BITAND(occupiedLow, ?1) = 0 and BITAND(occupiedHigh, ?2) = 0")
+                .unwrap(NativeQuery.class)
+                // Only touches sessions, so other second-level cache regions stay valid
+                .addSynchronizedEntityClass(Session.class)
+                .setParameter(1, seats.getLow())
+                .setParameter(2, seats.getHigh())
+                .setParameter(3, sessionId)
+                .executeUpdate();
+        if (updated == 0) {
+            throw new SeatsTakenException("Seats are already taken in session " + sessionId);
+        }
+        applyAfterCommit(sessionId, occupied -> occupied.union(seats));
+    }
+
+    /**
+     * Marks seats as free again.
+     *
+     * @param sessionId The ID of the session.
+     * @param seats     The seats to release.
+     */
+    @Transactional
+    public void releaseSeats(Long sessionId, SeatMap seats) {
+        em.createNativeQuery("update sessions"
+                        + " set occupiedLow = BITAND(occupiedLow, ?1), occupiedHigh = BITAND(occupiedHigh, ?2)"
+                        + " where id = ?3")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Session.class)
+                .setParameter(1, ~seats.getLow())
+                .setParameter(2, ~seats.getHigh())
+                .setParameter(3, sessionId)
+                .executeUpdate();
+        applyAfterCommit(sessionId, occupied -> occupied.minus(seats));
+    }
+
+    /**
+     * Drops the in-memory copy of a session's seats.
+     *
+     * @param sessionId The ID of the session.
+     */
+    public void evict(Long sessionId) {
+        occupiedSeats.remove(sessionId);
+    }
+
+    private SeatMap loadOccupiedSeats(Long sessionId) {
+        return em.createQuery("select s.occupiedSeats from Session s where s.id = :id", SeatMap.class)
+                .setParameter("id", sessionId)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("No session " + sessionId));
+    }
+
+    // Updates the hot copy only once the database change is committed. Both changes are
+    // idempotent, so a concurrent load that already saw the new state is not disturbed.
+    private void applyAfterCommit(Long sessionId, UnaryOperator<SeatMap> change) {
+        TransactionHooks.afterCommit(() ->
+                occupiedSeats.computeIfPresent(sessionId, (id, occupied) -> change.apply(occupied)));
+    }
+}
@@ -1,15 +1,24 @@
 package dao;
 
+import dao.ResourceVersions.Resource;
+import dto.Cursor;
+import dto.Page;
+import dto.SessionView;
+import exception.BadRequestException;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
+import model.Language;
+import model.Movie;
 import model.Seat;
+import model.SeatMap;
 import model.Session;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object (DAO) class for handling session-related database operations.
@@ -19,13 +28,58 @@ public class SessionDao {
     @PersistenceContext
     private EntityManager em;
 
+    private static final String SESSION_VIEW_SELECT = "select new dto.SessionView(s.id, m.id, m.title,"
+            + " l.id, l.text, s.hallNr, s.startAt, s.price)"
+            + " from Session s join s.movie m join s.language l";
+
+    private final SeatInventory seatInventory;
+    private final ResourceVersions resourceVersions;
+
     /**
-     * Retrieves a list of all sessions from the database.
+     * Constructor for SessionDao.
      *
-     * @return List of all sessions.
+     * @param seatInventory    The inventory holding the seat state of every session.
+     * @param resourceVersions The version counters bumped on every write.
      */
-    public List<Session> getSessions() {
-        return em.createQuery("select s from Session s", Session.class).getResultList();
+    public SessionDao(SeatInventory seatInventory, ResourceVersions resourceVersions) {
+        this.seatInventory = seatInventory;
+        this.resourceVersions = resourceVersions;
+    }
+
+    /**
+     * Retrieves one page of sessions ordered by start time, in a single query.
+     *
+     * @param cursor Cursor returned with the previous page, or null for the first page.
+     * @param limit  Maximum number of sessions to return.
+     * @return Page of sessions.
+     */
+    @Transactional(readOnly = true)
+    public Page<SessionView> getSessions(String cursor, int limit) {
+        int pageSize = Page.clampLimit(limit);
+        Cursor.StartAtKey after = Cursor.toStartAt(cursor);
+        TypedQuery<SessionView> query;
+        if (after == null) {
+            query = em.createQuery(SESSION_VIEW_SELECT
+                    + " order by s.startAt, s.id", SessionView.class);
+        } else {
+            query = em.createQuery(SESSION_VIEW_SELECT
+                            + " where s.startAt > :startAt or (s.startAt = :startAt and s.id > :id)"
+                            + " order by s.startAt, s.id", SessionView.class)
+                    .setParameter("startAt", after.startAt())
+                    .setParameter("id", after.id());
+        }
+        List<SessionView> rows = query.setMaxResults(pageSize + 1).getResultList();
+        return Page.of(rows, pageSize, s -> Cursor.ofStartAt(s.getStartAt(), s.getId()));
+    }
+
+    /**
+     * Runs an action for every session in the database without holding them all in memory.
+     *
+     * @param action The action to run for every session.
+     */
+    @Transactional(readOnly = true)
+    public void forEachSession(Consumer<? super Session> action) {
+        ResultStreams.forEach(em, em.createQuery("select s from Session s join fetch s.movie join fetch s.language order by s.startAt, s.id", Session.class), action);
     }
 
     /**
@@ -40,21 +94,58 @@ public class SessionDao {
         } else {
             em.merge(session);
         }
+        resourceVersions.bump(Resource.SESSIONS);
         return session;
     }
 
+    /**
+     * Inserts many new sessions using JDBC batches. The movie and language are referenced by ID.
+     *
+     * @param sessions The sessions to insert.
+     * @return The IDs of the inserted sessions.
+     * @throws BadRequestException If a session lacks the ID of its movie or language.
+     */
+    @Transactional
+    public List<Long> insertSessions(List<Session> sessions) {
+        resourceVersions.bump(Resource.SESSIONS);
+        return BatchInserts.persistAll(em, sessions, session -> {
+            if (session.getMovie() == null || session.getMovie().getId() == null) {
+                throw new BadRequestException("Every session needs the ID of its movie");
+            }
+            if (session.getLanguage() == null || session.getLanguage().getId() == null) {
+                throw new BadRequestException("Every session needs the ID of its language");
+            }
+            session.setMovie(em.getReference(Movie.class, session.getMovie().getId()));
+            session.setLanguage(em.getReference(Language.class, session.getLanguage().getId()));
+        }, Session::getId);
+    }
+
     /**
      * Retrieves a session from the database by its ID.
      *
      * @param id The ID of the session to retrieve.
      * @return The session with the specified ID.
      */
+    @Transactional(readOnly = true)
     public Session getSessionById(Long id) {
         TypedQuery<Session> query = em.createQuery("select s from Session s where s.id = :id", Session.class);
         query.setParameter("id", id);
         return query.getSingleResult();
     }
 
+    /**
+     * Retrieves the read model of a session by its ID, in a single query.
+     *
+     * @param id The ID of the session to retrieve.
+     * @return The session with the specified ID.
+     */
+    @Transactional(readOnly = true)
+    public SessionView getSessionViewById(Long id) {
+        return em.createQuery(SESSION_VIEW_SELECT + " where s.id = :id", SessionView.class)
+                .setParameter("id", id)
+                .getSingleResult();
+    }
+
     /**
      * Deletes a session from the database by its ID.
      *
@@ -65,9 +156,21 @@ public class SessionDao {
         Session session = em.find(Session.class, id);
         if (session != null) {
             em.remove(session);
+            seatInventory.evict(id);
+            resourceVersions.bump(Resource.SESSIONS);
         }
     }
 
+    /**
+     * Retrieves the occupied seats of a given session.
+     *
+     * @param sessionId The ID of the session.
+     * @return The occupied seats of the session.
+     */
+    public SeatMap getOccupiedSeats(Long sessionId) {
+        return seatInventory.getOccupiedSeats(sessionId);
+    }
+
     /**
      * Retrieves a list of all seats in the cinema hall for a given session.
      * The cinema hall has 9 rows and 10 seats in every row.
@@ -76,12 +179,12 @@ public class SessionDao {
      * @return List of all seats in the cinema hall.
      */
     public List<Seat> getAllSeats(Long sessionId) {
-        List<Seat> allSeats = new ArrayList<>();
-        Random random = new Random();
+        SeatMap occupied = seatInventory.getOccupiedSeats(sessionId);
+        List<Seat> allSeats = new ArrayList<>(SeatMap.CAPACITY);
 
-        for (int row = 0; row < 9; row++) {
-            for (int seatInRow = 0; seatInRow < 10; seatInRow++) {
-                allSeats.add(new Seat(row + 1, seatInRow + 1, random.nextBoolean()));
+        for (int row = 1; row <= SeatMap.ROWS; row++) {
+            for (int seatInRow = 1; seatInRow <= SeatMap.SEATS_PER_ROW; seatInRow++) {
+                allSeats.add(new Seat(row, seatInRow, !occupied.contains(row, seatInRow)));
             }
         }
         return allSeats;
@@ -94,8 +197,20 @@ public class SessionDao {
      * @return List of available seats for the session.
      */
     public List<Seat> getAvailableSeats(Long sessionId) {
-        return getAllSeats(sessionId).stream()
-                .filter(Seat::isAvailable)
-                .collect(Collectors.toList());
+        return getAvailableSeats(sessionId, SeatMap.EMPTY);
+    }
+
+    /**
+     * Retrieves a list of available seats for a given session, treating some extra seats as taken.
+     *
+     * @param sessionId The ID of the session.
+     * @param excluded  Seats to leave out even if they are not occupied.
+     * @return List of available seats for the session.
+     */
+    public List<Seat> getAvailableSeats(Long sessionId, SeatMap excluded) {
+        return seatInventory.getOccupiedSeats(sessionId)
+                .union(excluded)
+                .complement()
+                .toSeatList(true);
     }
 }
@@ -0,0 +1,137 @@
+package dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import model.Booking;
+import model.Genre;
+import model.Movie;
+import model.Session;
+import model.TasteProfile;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Data Access Object (DAO) class for the taste profiles of customers.
+ */
+@Repository
+public class TasteProfileDao {
+    @PersistenceContext
+    private EntityManager em;
+
+    /**
+     * Retrieves the taste profile of a customer.
+     *
+     * @param customerId The ID of the customer.
+     * @return The profile of the customer, empty if they have not booked anything yet.
+     */
+    @Transactional(readOnly = true)
+    public TasteProfile getProfile(Long customerId) {
+        TasteProfile profile = em.find(TasteProfile.class, customerId);
+        if (profile == null) {
+            return new TasteProfile(customerId);
+        }
+        // Loaded inside the transaction, the collections are small
+        profile.getGenres().size();
+        profile.getAgeRestrictions().size();
+        profile.getLanguages().size();
+        return profile;
+    }
+
+    /**
+     * Adds new bookings of one session to the profiles of their customers. The profiles stay locked until
+     * the transaction ends, so that bookings of the same customer in other sessions wait instead of
+     * overwriting each other's counts.
+     * Must be called inside the transaction that inserts the bookings.
+     *
+     * @param sessionId The ID of the session.
+     * @param bookings  The new bookings; only the customer ID and the booking time are read.
+     */
+    public void addBookings(Long sessionId, List<Booking> bookings) {
+        Session session = em.createQuery("select s from Session s join fetch s.movie m left join fetch m.genres"
+                        + " where s.id = :id", Session.class)
+                .setParameter("id", sessionId)
+                .getSingleResult();
+        Map<Long, TasteProfile> profiles = lockOrCreate(
+                bookings.stream().map(booking -> booking.getCustomer().getId()).toList());
+        for (Booking booking : bookings) {
+            addBooking(profiles.get(booking.getCustomer().getId()), booking.getBookedAt(), session);
+        }
+    }
+
+    /**
+     * Rebuilds the profiles of customers from all their bookings, for when their history is written directly.
+     * Must be called inside the transaction that writes the history.
+     *
+     * @param customerIds The IDs of the customers.
+     */
+    public void rebuild(Collection<Long> customerIds) {
+        if (customerIds.isEmpty()) {
+            return;
+        }
+        em.flush();
+        for (Long customerId : customerIds) {
+            TasteProfile stale = em.find(TasteProfile.class, customerId);
+            if (stale != null) {
+                em.remove(stale);
+            }
+        }
+        em.flush();
+
+        List<Booking> bookings = em.createQuery("select b from Booking b join fetch b.session s"
+                        + " join fetch s.movie m left join fetch m.genres where b.customer.id in :ids order by b.id",
+                        Booking.class)
+                .setParameter("ids", customerIds)
+                .getResultList();
+        Map<Long, TasteProfile> profiles = new LinkedHashMap<>();
+        for (Booking booking : bookings) {
+            TasteProfile profile = profiles.computeIfAbsent(booking.getCustomer().getId(), TasteProfile::new);
+            addBooking(profile, booking.getBookedAt(), booking.getSession());
+        }
+        profiles.values().forEach(em::persist);
+    }
+
+    // Inserts the missing profiles with an upsert, so that two writers creating the same profile do not
+    // collide, then locks all of them in ascending customer ID order, so that writers never deadlock
+    private Map<Long, TasteProfile> lockOrCreate(List<Long> customerIds) {
+        List<Long> sortedIds = customerIds.stream().distinct().sorted().toList();
+        for (Long customerId : sortedIds) {
+            em.createNativeQuery("merge into customerProfiles p using (values (cast(?1 as bigint))) as v(id)"
+                            + " on p.customer_id = v.id"
+                            + " when not matched then insert (customer_id, bookings) values (v.id, 0)")
+                    .unwrap(NativeQuery.class)
+                    // Only touches profiles, so other second-level cache regions stay valid
+                    .addSynchronizedEntityClass(TasteProfile.class)
+                    .setParameter(1, customerId)
+                    .executeUpdate();
+        }
+        return em.createQuery("select p from TasteProfile p where p.customerId in :ids order by p.customerId",
+                        TasteProfile.class)
+                .setParameter("ids", sortedIds)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultStream()
+                .collect(Collectors.toMap(TasteProfile::getCustomerId, Function.identity()));
+    }
+
+    private static void addBooking(TasteProfile profile, LocalDateTime bookedAt, Session session) {
+        Movie movie = session.getMovie();
+        List<Long> genreIds = new ArrayList<>();
+        if (movie.getGenres() != null) {
+            for (Genre genre : movie.getGenres()) {
+                genreIds.add(genre.getId());
+            }
+        }
+        profile.addBooking(bookedAt, session.getStartAt(), genreIds, movie.getAgeRestriction(),
+                session.getLanguage().getId());
+    }
+}
@@ -0,0 +1,334 @@
+package dao;
+
+import dto.TitleSuggestion;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory n-gram index over movie titles for typo-tolerant autocomplete.
+ * Titles are lowercased and stripped of accents and punctuation; every word then contributes a
+ * word-start bigram and the trigrams of the word behind a word-start marker. A query matches the titles
+ * that share at least {@link #MIN_SIMILARITY} of its grams, so a missing, extra or wrong letter still
+ * finds the title, and the last word of the query only has to be a prefix.
+ * Titles are numbered densely and every gram maps to a sorted array of title numbers, so a lookup
+ * counts shared grams in a plain array. Lookups never lock; updates are serialized and replace the
+ * arrays of the grams they touch, which makes loading many titles at once with {@link #putAll}
+ * much cheaper than one by one.
+ */
+public final class TitleIndex {
+
+    /**
+     * Share of the query's grams a title must contain to be suggested.
+     */
+    public static final double MIN_SIMILARITY = 0.5;
+
+    /**
+     * Score added when the title starts with the query.
+     */
+    private static final double TITLE_PREFIX_BONUS = 1.0;
+
+    /**
+     * Score added when a word of the title starts with the last word of the query.
+     */
+    private static final double WORD_PREFIX_BONUS = 0.5;
+
+    /**
+     * Best suggestion first: highest score, then shortest title, then lowest ID.
+     */
+    private static final Comparator<TitleSuggestion> RANKING =
+            Comparator.comparingDouble(TitleSuggestion::getScore).reversed()
+                    .thenComparingInt(suggestion -> suggestion.getTitle().length())
+                    .thenComparing(TitleSuggestion::getId);
+
+    private static final char WORD_START = '$';
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int[] NONE = new int[0];
+
+    // Sorted title numbers by gram; an array is never changed once published
+    private final Map<String, int[]> postings = new ConcurrentHashMap<>();
+
+    // Titles by number, null once removed. Written before the postings that refer to them.
+    private volatile Entry[] entries = new Entry[64];
+
+    // Guarded by this
+    private final Map<Long, Integer> numbers = new HashMap<>();
+    private int nextNumber;
+
+    /**
+     * Adds a movie title to the index, replacing the movie's previous title.
+     *
+     * @param id    The ID of the movie.
+     * @param title The title of the movie.
+     */
+    public void put(Long id, String title) {
+        putAll(Map.of(id, title));
+    }
+
+    /**
+     * Adds movie titles to the index, replacing the movies' previous titles.
+     *
+     * @param titles The titles by movie ID.
+     */
+    public synchronized void putAll(Map<Long, String> titles) {
+        // Every title is indexed before any state changes, so a bad one leaves the index as it was
+        List<Entry> indexed = new ArrayList<>(titles.size());
+        for (Map.Entry<Long, String> title : titles.entrySet()) {
+            Long id = Objects.requireNonNull(title.getKey(), "Movie ID must not be null");
+            String text = Objects.requireNonNull(title.getValue(), () -> "Title of movie " + id + " must not be null");
+            String normalized = normalize(text);
+            indexed.add(new Entry(id, text, normalized, grams(normalized)));
+        }
+
+        Map<String, List<Integer>> added = new HashMap<>();
+        Map<String, List<Integer>> removed = new HashMap<>();
+        for (Entry entry : indexed) {
+            Integer number = numbers.get(entry.id);
+            Set<String> previousGrams = Set.of();
+            if (number == null) {
+                number = nextNumber++;
+                numbers.put(entry.id, number);
+                if (number == entries.length) {
+                    entries = Arrays.copyOf(entries, number * 2);
+                }
+            } else {
+                previousGrams = entries[number].grams;
+                for (String gram : previousGrams) {
+                    if (!entry.grams.contains(gram)) {
+                        removed.computeIfAbsent(gram, g -> new ArrayList<>()).add(number);
+                    }
+                }
+            }
+            for (String gram : entry.grams) {
+                if (!previousGrams.contains(gram)) {
+                    added.computeIfAbsent(gram, g -> new ArrayList<>()).add(number);
+                }
+            }
+            entries[number] = entry;
+        }
+        update(added, removed);
+    }
+
+    /**
+     * Removes a movie from the index.
+     *
+     * @param id The ID of the movie.
+     */
+    public synchronized void remove(Long id) {
+        Integer number = numbers.remove(id);
+        if (number == null) {
+            return;
+        }
+        Entry previous = entries[number];
+        entries[number] = null;
+        Map<String, List<Integer>> removed = new HashMap<>();
+        for (String gram : previous.grams) {
+            removed.put(gram, List.of(number));
+        }
+        update(Map.of(), removed);
+    }
+
+    /**
+     * Returns the number of indexed titles.
+     *
+     * @return The number of indexed titles.
+     */
+    public synchronized int size() {
+        return numbers.size();
+    }
+
+    /**
+     * Suggests titles for a partially typed query, the best match first. Titles starting with the query
+     * rank above titles with a word starting with its last word, which rank above other fuzzy matches;
+     * ties go to the shorter title.
+     *
+     * @param query The typed text.
+     * @param limit Maximum number of suggestions.
+     * @return The suggested titles.
+     */
+    public List<TitleSuggestion> suggest(String query, int limit) {
+        String normalized = query == null ? "" : normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<String> queryGrams = queryGrams(normalized);
+        int[][] lists = new int[queryGrams.size()][];
+        int gramCount = 0;
+        for (String gram : queryGrams) {
+            lists[gramCount++] = postings.getOrDefault(gram, NONE);
+        }
+        // Read after the postings, so it holds every title they refer to
+        Entry[] titles = entries;
+        int required = Math.max(1, (int) Math.ceil(gramCount * MIN_SIMILARITY));
+
+        // A title sharing the required number of grams shares at least one of the rarest
+        // gramCount - required + 1 grams, so only those are scanned for candidates
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+        int scanned = gramCount - required + 1;
+        int maxCandidates = 0;
+        for (int i = 0; i < scanned; i++) {
+            maxCandidates += lists[i].length;
+        }
+        int[] shared = new int[titles.length];
+        int[] candidates = new int[Math.min(maxCandidates, titles.length)];
+        int candidateCount = 0;
+        for (int i = 0; i < scanned; i++) {
+            for (int number : lists[i]) {
+                if (shared[number]++ == 0) {
+                    candidates[candidateCount++] = number;
+                }
+            }
+        }
+        // The common grams are only checked for the candidates
+        for (int i = scanned; i < gramCount; i++) {
+            int[] list = lists[i];
+            if ((long) candidateCount * 8 < list.length) {
+                for (int c = 0; c < candidateCount; c++) {
+                    if (Arrays.binarySearch(list, candidates[c]) >= 0) {
+                        shared[candidates[c]]++;
+                    }
+                }
+            } else {
+                for (int number : list) {
+                    if (shared[number] > 0) {
+                        shared[number]++;
+                    }
+                }
+            }
+        }
+
+        String lastWord = normalized.substring(normalized.lastIndexOf(' ') + 1);
+        String lastWordInside = " " + lastWord;
+        PriorityQueue<TitleSuggestion> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (int c = 0; c < candidateCount; c++) {
+            int number = candidates[c];
+            Entry entry = titles[number];
+            // Skips titles removed since their grams were read
+            if (shared[number] < required || entry == null) {
+                continue;
+            }
+            double score = (double) shared[number] / gramCount;
+            if (entry.normalized.startsWith(normalized)) {
+                score += TITLE_PREFIX_BONUS;
+            } else if (entry.normalized.startsWith(lastWord) || entry.normalized.contains(lastWordInside)) {
+                score += WORD_PREFIX_BONUS;
+            }
+            TitleSuggestion worst = best.size() == limit ? best.peek() : null;
+            if (worst == null || score > worst.getScore()
+                    || (score == worst.getScore() && entry.title.length() <= worst.getTitle().length())) {
+                best.add(new TitleSuggestion(entry.id, entry.title, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<TitleSuggestion> suggestions = new ArrayList<>(best);
+        suggestions.sort(RANKING);
+        return suggestions;
+    }
+
+    /**
+     * Brings text to the form titles are indexed in: lowercase words of letters and digits in any script,
+     * without accents, separated by single spaces. Text without letters or digits becomes empty.
+     *
+     * @param text The text.
+     * @return The normalized text.
+     */
+    static String normalize(String text) {
+        String decomposed = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    // Word-start bigram and trigrams of every word, e.g. "$g", "$go", "god", "odf" for "godf"
+    private static Set<String> grams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String marked = WORD_START + word;
+            grams.add(marked.substring(0, 2));
+            addTrigrams(marked, grams);
+        }
+        return grams;
+    }
+
+    // Like grams, but the very common word-start bigram is only used for words of one letter
+    private static Set<String> queryGrams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String marked = WORD_START + word;
+            if (word.length() == 1) {
+                grams.add(marked);
+            }
+            addTrigrams(marked, grams);
+        }
+        return grams;
+    }
+
+    private static void addTrigrams(String marked, Set<String> grams) {
+        for (int i = 0; i + 3 <= marked.length(); i++) {
+            grams.add(marked.substring(i, i + 3));
+        }
+    }
+
+    // Replaces the postings of every changed gram with a new sorted array
+    private void update(Map<String, List<Integer>> added, Map<String, List<Integer>> removed) {
+        Set<String> changed = new HashSet<>(added.keySet());
+        changed.addAll(removed.keySet());
+        for (String gram : changed) {
+            int[] merged = merge(postings.getOrDefault(gram, NONE),
+                    sorted(added.getOrDefault(gram, List.of())), sorted(removed.getOrDefault(gram, List.of())));
+            if (merged.length == 0) {
+                postings.remove(gram);
+            } else {
+                postings.put(gram, merged);
+            }
+        }
+    }
+
+    private static int[] sorted(List<Integer> numbers) {
+        int[] sorted = numbers.stream().mapToInt(Integer::intValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    // Sorted union of current and added, without removed
+    private static int[] merge(int[] current, int[] added, int[] removed) {
+        int[] merged = new int[current.length + added.length];
+        int size = 0;
+        int c = 0;
+        int a = 0;
+        int r = 0;
+        while (c < current.length || a < added.length) {
+            int next = a == added.length || (c < current.length && current[c] <= added[a]) ? current[c++] : added[a++];
+            while (r < removed.length && removed[r] < next) {
+                r++;
+            }
+            if ((r == removed.length || removed[r] != next) && (size == 0 || merged[size - 1] != next)) {
+                merged[size++] = next;
+            }
+        }
+        return size == merged.length ? merged : Arrays.copyOf(merged, size);
+    }
+
+    private record Entry(Long id, String title, String normalized, Set<String> grams) {
+    }
+}
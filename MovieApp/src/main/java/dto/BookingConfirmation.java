@@ -0,0 +1,64 @@
+package dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import model.Booking;
+import model.Seat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Committed booking of seats in a session.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingConfirmation {
+
+    /**
+     * The unique identifier of the booking.
+     */
+    private Long id;
+
+    /**
+     * The ID of the session the seats belong to.
+     */
+    private Long sessionId;
+
+    /**
+     * The ID of the customer who bought the tickets.
+     */
+    private Long customerId;
+
+    /**
+     * The booked seats.
+     */
+    private List<Seat> seats;
+
+    /**
+     * The moment the booking was committed.
+     */
+    private LocalDateTime bookedAt;
+
+    /**
+     * When the booking was confirmed as committed, in epoch milliseconds. Returned in a header rather than
+     * the body, so that the client's next reads go to the primary until the replica has the booking.
+     */
+    @JsonIgnore
+    private long confirmedAtMillis;
+
+    /**
+     * Creates a confirmation from a committed booking; the session and customer are only read by ID.
+     *
+     * @param booking The booking.
+     * @return The confirmation of the booking.
+     */
+    public static BookingConfirmation of(Booking booking) {
+        return new BookingConfirmation(booking.getId(), booking.getSession().getId(),
+                booking.getCustomer().getId(), booking.getSeats().toSeatList(false), booking.getBookedAt(),
+                System.currentTimeMillis());
+    }
+}
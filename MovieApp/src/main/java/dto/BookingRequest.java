@@ -0,0 +1,27 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import model.Seat;
+
+import java.util.List;
+
+/**
+ * Request to book seats in a session.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingRequest {
+
+    /**
+     * The ID of the customer buying the tickets.
+     */
+    private Long customerId;
+
+    /**
+     * The seats to book.
+     */
+    private List<Seat> seats;
+}
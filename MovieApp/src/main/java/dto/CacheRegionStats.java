@@ -0,0 +1,44 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hit and miss counts of one second-level cache region.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheRegionStats {
+
+    /**
+     * Name of the cache region.
+     */
+    private String region;
+
+    /**
+     * Lookups answered from the cache.
+     */
+    private long hitCount;
+
+    /**
+     * Lookups that had to go to the database.
+     */
+    private long missCount;
+
+    /**
+     * Entries put into the cache.
+     */
+    private long putCount;
+
+    /**
+     * Entries currently held in memory, or -1 if the provider does not report it.
+     */
+    private long elementCountInMemory;
+
+    /**
+     * Share of lookups answered from the cache.
+     */
+    private double hitRatio;
+}
@@ -0,0 +1,133 @@
+package dto;
+
+import exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors used for keyset pagination.
+ */
+public final class Cursor {
+
+    private Cursor() {
+    }
+
+    /**
+     * Creates a cursor continuing after the row with the given ID.
+     *
+     * @param id The ID of the last returned row.
+     * @return The cursor.
+     */
+    public static String ofId(Long id) {
+        return encode(String.valueOf(id));
+    }
+
+    /**
+     * Reads the ID out of a cursor created by {@link #ofId(Long)}.
+     *
+     * @param cursor The cursor, may be null.
+     * @return The ID to continue after, or {@link Long#MIN_VALUE} to start from the beginning.
+     */
+    public static long toId(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return Long.parseLong(decode(cursor));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Creates a cursor continuing after the row with the given start time and ID.
+     *
+     * @param startAt The start time of the last returned row.
+     * @param id      The ID of the last returned row.
+     * @return The cursor.
+     */
+    public static String ofStartAt(LocalDateTime startAt, Long id) {
+        return encode(startAt + "|" + id);
+    }
+
+    /**
+     * Reads the start time and ID out of a cursor created by {@link #ofStartAt(LocalDateTime, Long)}.
+     *
+     * @param cursor The cursor, may be null.
+     * @return The key to continue after, or null to start from the beginning.
+     */
+    public static StartAtKey toStartAt(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String[] parts = decode(cursor).split("\\|");
+        try {
+            return new StartAtKey(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Creates a cursor continuing after the row with the given sort value and ID.
+     *
+     * @param value The sort value of the last returned row, as text.
+     * @param id    The ID of the last returned row.
+     * @return The cursor.
+     */
+    public static String ofSortKey(String value, Long id) {
+        return encode(value + "|" + id);
+    }
+
+    /**
+     * Reads the sort value and ID out of a cursor created by {@link #ofSortKey(String, Long)}.
+     *
+     * @param cursor The cursor, may be null.
+     * @return The key to continue after, or null to start from the beginning.
+     */
+    public static SortKey toSortKey(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String key = decode(cursor);
+        // The value may itself contain the separator, the ID never does
+        int separator = key.lastIndexOf('|');
+        try {
+            return new SortKey(key.substring(0, separator), Long.valueOf(key.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    private static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Keyset position of a session ordered by start time.
+     *
+     * @param startAt The start time of the session.
+     * @param id      The ID of the session.
+     */
+    public record StartAtKey(LocalDateTime startAt, Long id) {
+    }
+
+    /**
+     * Keyset position of a row ordered by an arbitrary sort value.
+     *
+     * @param value The sort value of the row, as text.
+     * @param id    The ID of the row.
+     */
+    public record SortKey(String value, Long id) {
+    }
+}
@@ -0,0 +1,38 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import model.Customer;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a customer, without the session history.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomerView {
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private LocalDateTime birthDate;
+
+    private String email;
+
+    /**
+     * Creates the read model of a customer entity.
+     *
+     * @param customer The customer entity.
+     * @return The customer read model.
+     */
+    public static CustomerView of(Customer customer) {
+        return new CustomerView(customer.getId(), customer.getFirstName(), customer.getLastName(),
+                customer.getBirthDate(), customer.getEmail());
+    }
+}
@@ -0,0 +1,29 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import model.Genre;
+
+/**
+ * Read model of a genre, as listed in the read model of a movie.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GenreView {
+
+    private Long id;
+
+    private String text;
+
+    /**
+     * Creates the read model of a genre entity.
+     *
+     * @param genre The genre entity.
+     * @return The genre read model.
+     */
+    public static GenreView of(Genre genre) {
+        return new GenreView(genre.getId(), genre.getText());
+    }
+}
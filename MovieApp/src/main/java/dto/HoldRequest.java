@@ -0,0 +1,27 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import model.Seat;
+
+import java.util.List;
+
+/**
+ * Request to hold seats in a session.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HoldRequest {
+
+    /**
+     * The seats to hold.
+     */
+    private List<Seat> seats;
+
+    /**
+     * How long to hold the seats, in minutes.
+     */
+    private int minutes;
+}
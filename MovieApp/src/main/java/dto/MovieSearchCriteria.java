@@ -0,0 +1,67 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Filters and sort order of a movie search. Every filter is optional.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MovieSearchCriteria {
+
+    /**
+     * Exact movie title.
+     */
+    private String title;
+
+    /**
+     * Exact age restriction.
+     */
+    private String ageRestriction;
+
+    /**
+     * Earliest release date, inclusive.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate releasedFrom;
+
+    /**
+     * Latest release date, inclusive.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate releasedTo;
+
+    /**
+     * Shortest duration, inclusive.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.TIME)
+    private LocalTime minDuration;
+
+    /**
+     * Longest duration, inclusive.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.TIME)
+    private LocalTime maxDuration;
+
+    /**
+     * ID of a genre the movie must have.
+     */
+    private Long genreId;
+
+    /**
+     * ID of a language the movie must have a session in.
+     */
+    private Long languageId;
+
+    /**
+     * Sort field: id, title, releaseDate or duration, prefixed with "-" for descending order.
+     */
+    private String sort;
+}
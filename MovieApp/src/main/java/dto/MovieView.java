@@ -0,0 +1,43 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import model.Movie;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Read model of a movie with its genres, without the sessions.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MovieView {
+
+    private Long id;
+
+    private String title;
+
+    private String ageRestriction;
+
+    private LocalDate releaseDate;
+
+    private LocalTime duration;
+
+    private List<GenreView> genres;
+
+    /**
+     * Creates the read model of a movie entity. The genres must be loaded.
+     *
+     * @param movie The movie entity.
+     * @return The movie read model.
+     */
+    public static MovieView of(Movie movie) {
+        return new MovieView(movie.getId(), movie.getTitle(), movie.getAgeRestriction(),
+                movie.getReleaseDate(), movie.getDuration(),
+                movie.getGenres() == null ? List.of() : movie.getGenres().stream().map(GenreView::of).toList());
+    }
+}
@@ -0,0 +1,78 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list.
+ *
+ * @param <T> Type of the listed items.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Page<T> {
+
+    /**
+     * Number of items returned when the client does not ask for a limit.
+     */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /**
+     * Largest number of items a single page may hold.
+     */
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * The items of this page.
+     */
+    private List<T> items;
+
+    /**
+     * Opaque cursor of the next page, or null if this is the last one.
+     */
+    private String next;
+
+    /**
+     * Clamps a requested page size to the allowed range.
+     *
+     * @param limit The requested page size.
+     * @return The page size to use.
+     */
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Builds a page from rows fetched with one extra row past the limit,
+     * which tells whether a next page exists.
+     *
+     * @param rows     Up to limit + 1 rows in keyset order.
+     * @param limit    The page size.
+     * @param cursorOf Function building the cursor that continues after a row.
+     * @param <T>      Type of the listed items.
+     * @return The page.
+     */
+    public static <T> Page<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new Page<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+
+    /**
+     * Converts the items of this page, keeping the cursor.
+     *
+     * @param mapper Function converting one item.
+     * @param <R>    Type of the converted items.
+     * @return The converted page.
+     */
+    public <R> Page<R> map(Function<? super T, ? extends R> mapper) {
+        return new Page<>(items.stream().<R>map(mapper).toList(), next);
+    }
+}
@@ -0,0 +1,74 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Snapshot of the JDBC connection pool state.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PoolStats {
+
+    /**
+     * Connections currently borrowed from the pool.
+     */
+    private int active;
+
+    /**
+     * Connections currently idle in the pool.
+     */
+    private int idle;
+
+    /**
+     * Maximum number of connections the pool may hold.
+     */
+    private int maxTotal;
+
+    /**
+     * Maximum number of idle connections kept in the pool.
+     */
+    private int maxIdle;
+
+    /**
+     * Minimum number of idle connections kept in the pool.
+     */
+    private int minIdle;
+
+    /**
+     * Threads currently blocked waiting for a connection.
+     */
+    private int waiters;
+
+    /**
+     * Mean time spent waiting for a connection, in milliseconds.
+     */
+    private long meanBorrowWaitMillis;
+
+    /**
+     * Longest time spent waiting for a connection, in milliseconds.
+     */
+    private long maxBorrowWaitMillis;
+
+    /**
+     * Total number of connections borrowed since startup.
+     */
+    private long borrowedCount;
+
+    /**
+     * Total number of physical connections opened since startup.
+     */
+    private long createdCount;
+
+    /**
+     * Total number of physical connections closed since startup.
+     */
+    private long destroyedCount;
+
+    /**
+     * Number of borrow attempts that timed out waiting for a connection.
+     */
+    private long borrowTimeouts;
+}
@@ -0,0 +1,38 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import model.Seat;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Temporary reservation of seats in a session.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SeatHold {
+
+    /**
+     * The unique identifier of the hold.
+     */
+    private String id;
+
+    /**
+     * The ID of the session the seats belong to.
+     */
+    private Long sessionId;
+
+    /**
+     * The held seats.
+     */
+    private List<Seat> seats;
+
+    /**
+     * The moment the hold is released unless confirmed.
+     */
+    private Instant expiresAt;
+}
@@ -0,0 +1,46 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import model.Session;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a session with the movie and language flattened into it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SessionView {
+
+    private Long id;
+
+    private Long movieId;
+
+    private String movieTitle;
+
+    private Long languageId;
+
+    private String language;
+
+    private String hallNr;
+
+    private LocalDateTime startAt;
+
+    private Float price;
+
+    /**
+     * Creates the read model of a session entity. The movie and language must be loaded.
+     *
+     * @param session The session entity.
+     * @return The session read model.
+     */
+    public static SessionView of(Session session) {
+        return new SessionView(session.getId(),
+                session.getMovie().getId(), session.getMovie().getTitle(),
+                session.getLanguage().getId(), session.getLanguage().getText(),
+                session.getHallNr(), session.getStartAt(), session.getPrice());
+    }
+}
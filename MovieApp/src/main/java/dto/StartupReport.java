@@ -0,0 +1,31 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Timing of the last application startup.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StartupReport {
+
+    /**
+     * JVM uptime when the application context was ready.
+     */
+    private long jvmUptimeMillis;
+
+    /**
+     * Time from the start of the application context refresh until it was ready.
+     */
+    private long contextMillis;
+
+    /**
+     * Duration of every measured startup phase, in the order they ran.
+     */
+    private Map<String, Long> phaseMillis;
+}
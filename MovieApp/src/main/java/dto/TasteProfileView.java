@@ -0,0 +1,64 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import model.Affinity;
+import model.TasteProfile;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Read model of a customer's taste profile, with the preferred age restriction and language picked out.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TasteProfileView {
+
+    private Long customerId;
+
+    private int bookings;
+
+    private LocalDateTime lastBookedAt;
+
+    private LocalDateTime lastSessionAt;
+
+    /**
+     * Affinity to every booked genre, by genre ID.
+     */
+    private Map<Long, Affinity> genres;
+
+    /**
+     * The most booked age restriction, or null without bookings.
+     */
+    private String preferredAgeRestriction;
+
+    /**
+     * The ID of the most booked language, or null without bookings.
+     */
+    private Long preferredLanguageId;
+
+    /**
+     * Creates the read model of a taste profile.
+     *
+     * @param profile The taste profile.
+     * @return The taste profile read model.
+     */
+    public static TasteProfileView of(TasteProfile profile) {
+        return new TasteProfileView(profile.getCustomerId(), profile.getBookings(), profile.getLastBookedAt(),
+                profile.getLastSessionAt(), Map.copyOf(profile.getGenres()),
+                preferred(profile.getAgeRestrictions()), preferred(profile.getLanguages()));
+    }
+
+    // Most booked key, ties going to the most recently seen
+    private static <K> K preferred(Map<K, Affinity> affinities) {
+        return affinities.entrySet().stream()
+                .max(Comparator.comparingInt((Map.Entry<K, Affinity> entry) -> entry.getValue().getBookings())
+                        .thenComparing(entry -> entry.getValue().getLastSeenAt()))
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+}
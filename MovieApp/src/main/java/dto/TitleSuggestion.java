@@ -0,0 +1,29 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Movie title suggested for a partially typed query.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TitleSuggestion {
+
+    /**
+     * The ID of the movie.
+     */
+    private Long id;
+
+    /**
+     * The title of the movie.
+     */
+    private String title;
+
+    /**
+     * How well the title matches the query; higher is better.
+     */
+    private double score;
+}
@@ -0,0 +1,27 @@
+package exception;
+
+/**
+ * Thrown when request input is invalid, such as a malformed cursor, an unknown sort field or a missing
+ * idempotency key.
+ */
+public class BadRequestException extends RuntimeException {
+
+    /**
+     * Constructor for BadRequestException.
+     *
+     * @param message Description of the invalid input, returned to the client.
+     */
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructor for BadRequestException.
+     *
+     * @param message Description of the invalid input, returned to the client.
+     * @param cause   The exception the input caused.
+     */
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
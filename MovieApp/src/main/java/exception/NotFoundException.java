@@ -0,0 +1,16 @@
+package exception;
+
+/**
+ * Thrown when a request refers to something that does not exist (anymore), such as an expired seat hold.
+ */
+public class NotFoundException extends RuntimeException {
+
+    /**
+     * Constructor for NotFoundException.
+     *
+     * @param message Description of what was not found, returned to the client.
+     */
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package exception;
+
+/**
+ * Thrown when seats to hold or book are already occupied or held in the session.
+ */
+public class SeatsTakenException extends RuntimeException {
+
+    /**
+     * Constructor for SeatsTakenException.
+     *
+     * @param message Description of the conflict, returned to the client.
+     */
+    public SeatsTakenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,42 @@
+package model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * How often a customer has booked sessions with some trait, such as a genre, and when they last saw one.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class Affinity {
+
+    /**
+     * Number of bookings of sessions with the trait.
+     */
+    @Column(name = "bookings", nullable = false)
+    private int bookings;
+
+    /**
+     * Start of the latest booked session with the trait.
+     */
+    @Column(name = "lastSeenAt", nullable = false)
+    private LocalDateTime lastSeenAt;
+
+    /**
+     * Adds another booking of a session with the trait.
+     *
+     * @param sessionStartAt The start of the booked session.
+     * @return The combined affinity; this one is left unchanged.
+     */
+    public Affinity plus(LocalDateTime sessionStartAt) {
+        return new Affinity(bookings + 1,
+                lastSeenAt == null || sessionStartAt.isAfter(lastSeenAt) ? sessionStartAt : lastSeenAt);
+    }
+}
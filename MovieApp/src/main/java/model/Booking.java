@@ -0,0 +1,70 @@
+package model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Represents the tickets a customer bought for a session, stored as a row of the customer's history.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "customerSessions")
+public class Booking {
+
+    /**
+     * The unique identifier for the booking.
+     */
+    @Id
+    @SequenceGenerator(name = "customerSession_seq", sequenceName = "customerSession1", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customerSession_seq")
+    private Long id;
+
+    /**
+     * The session the tickets are for.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "session_id", nullable = false, updatable = false)
+    private Session session;
+
+    /**
+     * The customer who bought the tickets.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id", nullable = false, updatable = false)
+    private Customer customer;
+
+    /**
+     * The booked seats.
+     */
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "low",
+                    column = @Column(name = "seatsLow", nullable = false, updatable = false)),
+            @AttributeOverride(name = "high",
+                    column = @Column(name = "seatsHigh", nullable = false, updatable = false))
+    })
+    private SeatMap seats;
+
+    /**
+     * Key chosen by the client, so that a retried request returns this booking instead of booking again.
+     */
+    @Column(name = "idempotencyKey", length = 64, updatable = false)
+    private String idempotencyKey;
+
+    /**
+     * The moment the booking was committed.
+     */
+    @Column(name = "bookedAt", nullable = false, updatable = false)
+    private LocalDateTime bookedAt;
+}
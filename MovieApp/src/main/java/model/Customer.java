@@ -2,7 +2,9 @@ package model;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,7 +20,7 @@ import java.util.List;
 public class Customer {
 
     @Id
-    @SequenceGenerator(name = "customer_seq", sequenceName = "customer1", allocationSize = 1)
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer1", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
     private Long id;
 
@@ -34,12 +36,10 @@ public class Customer {
     @Column(name = "email", nullable = false, length = 50)
     private String email;
 
-    // Relationship mapping with sessions - many-to-many
-    @ManyToMany(cascade = CascadeType.ALL)
-    @JoinTable(
-            name = "customerSeesion", // Join table name
-            joinColumns = @JoinColumn(name = "customer_id"), // FK column in join table for Customer
-            inverseJoinColumns = @JoinColumn(name = "session_id") // FK column in join table for Session
-    )
-    private List<Session> history; // List of sessions associated with the customer
+    // Sessions the customer visited before, referenced by ID, only read when a new customer is imported.
+    // Not mapped: the visits are stored as bookings, which are written only through the Booking entity.
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Transient
+    private List<Session> history;
 }
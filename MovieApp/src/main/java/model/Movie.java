@@ -1,8 +1,11 @@
 package model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -19,7 +22,7 @@ import java.util.List;
 public class Movie {
 
     @Id
-    @SequenceGenerator(name = "movie_seq", sequenceName = "movie1", allocationSize = 1)
+    @SequenceGenerator(name = "movie_seq", sequenceName = "movie1", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movie_seq")
     private Long id;
 
@@ -35,6 +38,8 @@ public class Movie {
     @Column(name = "duration", nullable = false)
     private LocalTime duration;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToMany(cascade = CascadeType.ALL)
     @JoinTable(
             name = "movieGenres",
@@ -43,6 +48,10 @@ public class Movie {
     )
     private List<Genre> genres;
 
+    // The inverse side of Session.movie, never serialized so that a movie does not lead back to itself
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "movie", cascade = CascadeType.ALL)
     private List<Session> sessions;
 }
@@ -0,0 +1,216 @@
+package model;
+
+import exception.BadRequestException;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dense bitset of the seats in a cinema hall.
+ * The hall has 9 rows and 10 seats in every row, so all 90 seats fit into two longs:
+ * seat index {@code (rowNr - 1) * 10 + (seatNr - 1)} maps to bit 0-63 of {@code low}
+ * and bit 64-89 to {@code high}. Instances are treated as immutable values; the
+ * combining methods return new maps.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Embeddable
+public class SeatMap {
+
+    /**
+     * Number of rows in the cinema hall.
+     */
+    public static final int ROWS = 9;
+
+    /**
+     * Number of seats in every row.
+     */
+    public static final int SEATS_PER_ROW = 10;
+
+    /**
+     * Total number of seats in the cinema hall.
+     */
+    public static final int CAPACITY = ROWS * SEATS_PER_ROW;
+
+    private static final long HIGH_MASK = (1L << (CAPACITY - 64)) - 1;
+
+    /**
+     * Map with no seats set.
+     */
+    public static final SeatMap EMPTY = new SeatMap(0L, 0L);
+
+    /**
+     * Map with every seat of the hall set.
+     */
+    public static final SeatMap FULL = new SeatMap(-1L, HIGH_MASK);
+
+    /**
+     * Bits for seats 0-63.
+     */
+    private long low;
+
+    /**
+     * Bits for seats 64-89.
+     */
+    private long high;
+
+    /**
+     * Converts a row and seat number (both starting from 1) to a seat index.
+     *
+     * @param rowNr  The row number of the seat.
+     * @param seatNr The seat number within the row.
+     * @return The seat index in the range 0-89.
+     */
+    public static int index(int rowNr, int seatNr) {
+        if (rowNr < 1 || rowNr > ROWS || seatNr < 1 || seatNr > SEATS_PER_ROW) {
+            throw new BadRequestException("No such seat: row " + rowNr + ", seat " + seatNr);
+        }
+        return (rowNr - 1) * SEATS_PER_ROW + (seatNr - 1);
+    }
+
+    /**
+     * Creates a map with the given seats set.
+     *
+     * @param seats The seats to set.
+     * @return The seat map.
+     */
+    public static SeatMap of(Iterable<Seat> seats) {
+        long low = 0;
+        long high = 0;
+        for (Seat seat : seats) {
+            int index = index(seat.getRowNr(), seat.getSeatNr());
+            if (index < 64) {
+                low |= 1L << index;
+            } else {
+                high |= 1L << (index - 64);
+            }
+        }
+        return new SeatMap(low, high);
+    }
+
+    /**
+     * Checks whether the seat with the given index is set.
+     *
+     * @param index The seat index.
+     * @return True if the seat is set.
+     */
+    public boolean contains(int index) {
+        return index < 64
+                ? (low & (1L << index)) != 0
+                : (high & (1L << (index - 64))) != 0;
+    }
+
+    /**
+     * Checks whether the given seat is set.
+     *
+     * @param rowNr  The row number of the seat.
+     * @param seatNr The seat number within the row.
+     * @return True if the seat is set.
+     */
+    public boolean contains(int rowNr, int seatNr) {
+        return contains(index(rowNr, seatNr));
+    }
+
+    /**
+     * Returns the seats of one row as a bitmask, bit 0 being the first seat of the row.
+     *
+     * @param rowNr The row number.
+     * @return The row bits.
+     */
+    public int rowBits(int rowNr) {
+        int from = (rowNr - 1) * SEATS_PER_ROW;
+        long bits;
+        if (from + SEATS_PER_ROW <= 64) {
+            bits = low >>> from;
+        } else if (from >= 64) {
+            bits = high >>> (from - 64);
+        } else {
+            // The row straddles both longs
+            bits = (low >>> from) | (high << (64 - from));
+        }
+        return (int) (bits & ((1L << SEATS_PER_ROW) - 1));
+    }
+
+    /**
+     * Checks whether this map shares any seat with another one.
+     *
+     * @param other The other seat map.
+     * @return True if at least one seat is set in both maps.
+     */
+    public boolean intersects(SeatMap other) {
+        return (low & other.low) != 0 || (high & other.high) != 0;
+    }
+
+    /**
+     * Returns the seats set in either map.
+     *
+     * @param other The other seat map.
+     * @return The union of both maps.
+     */
+    public SeatMap union(SeatMap other) {
+        return new SeatMap(low | other.low, high | other.high);
+    }
+
+    /**
+     * Returns the seats of this map that are not set in the other one.
+     *
+     * @param other The seats to remove.
+     * @return The difference of both maps.
+     */
+    public SeatMap minus(SeatMap other) {
+        return new SeatMap(low & ~other.low, high & ~other.high);
+    }
+
+    /**
+     * Returns the seats of the hall that are not set in this map.
+     *
+     * @return The complement of this map.
+     */
+    public SeatMap complement() {
+        return FULL.minus(this);
+    }
+
+    /**
+     * Counts the seats set in this map.
+     *
+     * @return The number of seats set.
+     */
+    public int count() {
+        return Long.bitCount(low) + Long.bitCount(high);
+    }
+
+    /**
+     * Checks whether no seat is set.
+     *
+     * @return True if the map is empty.
+     */
+    public boolean isEmpty() {
+        return low == 0 && high == 0;
+    }
+
+    /**
+     * Lists the seats set in this map, ordered by row and seat number.
+     *
+     * @param available The availability flag to give the listed seats.
+     * @return List of the seats set in this map.
+     */
+    public List<Seat> toSeatList(boolean available) {
+        List<Seat> seats = new ArrayList<>(count());
+        for (int index = 0; index < CAPACITY; index++) {
+            if (contains(index)) {
+                seats.add(new Seat(index / SEATS_PER_ROW + 1, index % SEATS_PER_ROW + 1, available));
+            }
+        }
+        return seats;
+    }
+}
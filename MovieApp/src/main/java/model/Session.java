@@ -1,8 +1,11 @@
 package model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
@@ -21,21 +24,25 @@ public class Session {
      * The unique identifier for the session.
      */
     @Id
-    @SequenceGenerator(name = "session_seq", sequenceName = "session1", allocationSize = 1)
+    @SequenceGenerator(name = "session_seq", sequenceName = "session1", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "session_seq")
     private Long id;
 
     /**
      * The movie being screened in this session.
      */
-    @ManyToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "movie_id", nullable = false)
     private Movie movie;
 
     /**
      * The language in which the movie is being screened.
      */
-    @ManyToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "language_id", nullable = false)
     private Language language;
 
@@ -57,4 +64,18 @@ public class Session {
     @Column(name = "price", nullable = false, precision = 2)
     private float price;
 
+    /**
+     * The seats already taken in this session.
+     * Changed only through SeatInventory, so merging a session never overwrites bookings.
+     */
+    @JsonIgnore
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "low",
+                    column = @Column(name = "occupiedLow", nullable = false, updatable = false)),
+            @AttributeOverride(name = "high",
+                    column = @Column(name = "occupiedHigh", nullable = false, updatable = false))
+    })
+    private SeatMap occupiedSeats = new SeatMap(0L, 0L);
+
 }
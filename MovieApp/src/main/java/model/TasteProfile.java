@@ -0,0 +1,108 @@
+package model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents the taste of a customer, aggregated from their bookings so that it can be read without
+ * walking their history. Updated incrementally with every booking.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "customerProfiles")
+public class TasteProfile {
+
+    /**
+     * The ID of the customer the profile belongs to.
+     */
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    /**
+     * Number of bookings the profile is built from.
+     */
+    @Column(name = "bookings", nullable = false)
+    private int bookings;
+
+    /**
+     * The moment of the latest booking.
+     */
+    @Column(name = "lastBookedAt")
+    private LocalDateTime lastBookedAt;
+
+    /**
+     * Start of the latest booked session.
+     */
+    @Column(name = "lastSessionAt")
+    private LocalDateTime lastSessionAt;
+
+    /**
+     * Affinity to every genre the customer has booked, by genre ID.
+     */
+    @ElementCollection
+    @CollectionTable(name = "customerGenreAffinities", joinColumns = @JoinColumn(name = "customer_id"))
+    @MapKeyColumn(name = "genre_id")
+    private Map<Long, Affinity> genres = new HashMap<>();
+
+    /**
+     * Affinity to every age restriction the customer has booked.
+     */
+    @ElementCollection
+    @CollectionTable(name = "customerAgeAffinities", joinColumns = @JoinColumn(name = "customer_id"))
+    @MapKeyColumn(name = "ageRestriction", length = 10)
+    private Map<String, Affinity> ageRestrictions = new HashMap<>();
+
+    /**
+     * Affinity to every language the customer has booked, by language ID.
+     */
+    @ElementCollection
+    @CollectionTable(name = "customerLanguageAffinities", joinColumns = @JoinColumn(name = "customer_id"))
+    @MapKeyColumn(name = "language_id")
+    private Map<Long, Affinity> languages = new HashMap<>();
+
+    /**
+     * Creates an empty profile.
+     *
+     * @param customerId The ID of the customer the profile belongs to.
+     */
+    public TasteProfile(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    /**
+     * Adds a booking of a session to the profile.
+     *
+     * @param bookedAt       The moment of the booking.
+     * @param sessionStartAt The start of the booked session.
+     * @param genreIds       The IDs of the genres of the session's movie.
+     * @param ageRestriction The age restriction of the session's movie.
+     * @param languageId     The ID of the language of the session.
+     */
+    public void addBooking(LocalDateTime bookedAt, LocalDateTime sessionStartAt, Iterable<Long> genreIds,
+                           String ageRestriction, Long languageId) {
+        bookings++;
+        if (lastBookedAt == null || bookedAt.isAfter(lastBookedAt)) {
+            lastBookedAt = bookedAt;
+        }
+        if (lastSessionAt == null || sessionStartAt.isAfter(lastSessionAt)) {
+            lastSessionAt = sessionStartAt;
+        }
+        for (Long genreId : genreIds) {
+            genres.put(genreId, plus(genres.get(genreId), sessionStartAt));
+        }
+        ageRestrictions.put(ageRestriction, plus(ageRestrictions.get(ageRestriction), sessionStartAt));
+        languages.put(languageId, plus(languages.get(languageId), sessionStartAt));
+    }
+
+    private static Affinity plus(Affinity affinity, LocalDateTime sessionStartAt) {
+        return affinity == null ? new Affinity(1, sessionStartAt) : affinity.plus(sessionStartAt);
+    }
+}
@@ -0,0 +1,280 @@
+package service;
+
+import dao.BookingDao;
+import dao.SeatInventory;
+import dto.BookingConfirmation;
+import dto.BookingRequest;
+import exception.BadRequestException;
+import exception.NotFoundException;
+import exception.SeatsTakenException;
+import model.Booking;
+import model.Customer;
+import model.SeatMap;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Books seats for customers. Bookings of each session go through their own queue with a single
+ * writer, which takes whatever has queued up and commits it as one batch: one update of the session's
+ * seats and one batch of inserts, instead of one transaction per booking contending for the session row.
+ * The writers of different sessions run in parallel; with the database in MVCC mode ({@code hsqldb.tx=mvcc})
+ * they lock only the rows they write instead of whole tables, but still wait on each other when they
+ * book for the same customer, whose taste profile both update.
+ * Every booking carries an idempotency key; a retry with the same key gets the original booking.
+ */
+@Service
+public class BookingService {
+
+    /**
+     * Longest idempotency key accepted, the length of the column it is stored in.
+     */
+    public static final int MAX_KEY_LENGTH = 64;
+
+    private static final Log log = LogFactory.getLog(BookingService.class);
+
+    private final BookingDao bookingDao;
+    private final SeatInventory seatInventory;
+    private final SeatHoldService seatHoldService;
+    private final AsyncTaskExecutor writerExecutor;
+    private final int maxBatchSize;
+
+    private final Map<Long, SessionWriter> writers = new ConcurrentHashMap<>();
+    private final Map<String, PendingBooking> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for BookingService.
+     *
+     * @param bookingDao      Instance of BookingDao.
+     * @param seatInventory   The inventory holding the occupied seats of every session.
+     * @param seatHoldService Instance of SeatHoldService.
+     * @param requestExecutor Executor the session writers run on.
+     * @param env             The environment object to retrieve properties.
+     */
+    public BookingService(BookingDao bookingDao, SeatInventory seatInventory, SeatHoldService seatHoldService,
+                          AsyncTaskExecutor requestExecutor, Environment env) {
+        this.bookingDao = bookingDao;
+        this.seatInventory = seatInventory;
+        this.seatHoldService = seatHoldService;
+        this.writerExecutor = requestExecutor;
+        this.maxBatchSize = env.getProperty("booking.batch.maxSize", Integer.class, 256);
+    }
+
+    /**
+     * Books seats in a session. The booking is queued for the session's writer, which fails it
+     * if any of the seats is occupied or held.
+     *
+     * @param sessionId      The ID of the session.
+     * @param idempotencyKey Key chosen by the client, the same for every retry of the request.
+     * @param request        The customer and the seats to book.
+     * @return Future booking, completed once it is committed.
+     * @throws NotFoundException If there is no such session.
+     */
+    public CompletableFuture<BookingConfirmation> book(Long sessionId, String idempotencyKey, BookingRequest request) {
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency key must have 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        if (request.getCustomerId() == null) {
+            throw new BadRequestException("No customer to book for");
+        }
+        if (request.getSeats() == null || request.getSeats().isEmpty()) {
+            throw new BadRequestException("No seats to book");
+        }
+        // Loads the session's seats for its writer, and fails before a writer is created for an unknown session
+        seatInventory.getOccupiedSeats(sessionId);
+        PendingBooking booking = new PendingBooking(idempotencyKey, sessionId, request.getCustomerId(),
+                SeatMap.of(request.getSeats()));
+
+        PendingBooking existing = inFlight.putIfAbsent(idempotencyKey, booking);
+        if (existing != null) {
+            // A retry of a booking that is still queued
+            existing.checkSameRequest(booking);
+            return existing.result.copy();
+        }
+        booking.result.whenComplete((confirmation, failure) -> inFlight.remove(idempotencyKey, booking));
+        // Queued inside compute, so that an idle writer cannot be retired between being found and being given
+        // the booking
+        writers.compute(sessionId, (id, writer) -> {
+            SessionWriter queuing = writer != null ? writer : new SessionWriter(id);
+            queuing.queue.add(booking);
+            return queuing;
+        }).scheduleDrain();
+        return booking.result.copy();
+    }
+
+    private SeatMap takenSeats(Long sessionId) {
+        return seatInventory.getOccupiedSeats(sessionId).union(seatHoldService.getHeldSeats(sessionId));
+    }
+
+    // Commits one batch of a session's bookings; runs on the session's writer only
+    private void writeBatch(Long sessionId, List<PendingBooking> batch) {
+        Map<String, Booking> committed = bookingDao.getBookingsByKeys(
+                batch.stream().map(booking -> booking.idempotencyKey).toList());
+        Set<Long> customerIds = bookingDao.getExistingCustomerIds(
+                batch.stream().map(booking -> booking.customerId).distinct().toList());
+
+        SeatMap taken = takenSeats(sessionId);
+        List<PendingBooking> accepted = new ArrayList<>(batch.size());
+        for (PendingBooking booking : batch) {
+            Booking previous = committed.get(booking.idempotencyKey);
+            if (previous != null) {
+                // A retry of a booking committed earlier
+                booking.completeWith(previous);
+            } else if (!customerIds.contains(booking.customerId)) {
+                booking.result.completeExceptionally(
+                        new BadRequestException("No customer " + booking.customerId));
+            } else if (booking.seats.intersects(taken)) {
+                booking.result.completeExceptionally(
+                        new SeatsTakenException("Seats are already taken in session " + sessionId));
+            } else {
+                taken = taken.union(booking.seats);
+                accepted.add(booking);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            insert(sessionId, accepted);
+        } catch (RuntimeException e) {
+            if (accepted.size() == 1) {
+                accepted.get(0).result.completeExceptionally(e);
+                return;
+            }
+            // Something changed under the batch, e.g. a confirmed hold took a seat; find the bookings that fail
+            log.debug("Batch of " + accepted.size() + " bookings failed in session " + sessionId
+                    + ", retrying them one by one", e);
+            for (PendingBooking booking : accepted) {
+                try {
+                    insert(sessionId, List.of(booking));
+                } catch (RuntimeException single) {
+                    booking.result.completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    private void insert(Long sessionId, List<PendingBooking> bookings) {
+        List<Booking> entities = bookings.stream().map(PendingBooking::toEntity).toList();
+        bookingDao.insertBookings(sessionId, entities);
+        for (int i = 0; i < bookings.size(); i++) {
+            bookings.get(i).completeWith(entities.get(i));
+        }
+    }
+
+    /**
+     * Queue of one session's bookings with at most one writer draining it at a time. A writer is
+     * retired once its queue is empty, so only sessions with bookings under way keep one.
+     */
+    private final class SessionWriter {
+        private final Long sessionId;
+        private final Queue<PendingBooking> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private SessionWriter(Long sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    writerExecutor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                    PendingBooking booking;
+                    while ((booking = queue.poll()) != null) {
+                        booking.result.completeExceptionally(e);
+                    }
+                    retireIfIdle();
+                }
+            }
+        }
+
+        // Bookings are only queued inside writers.compute, so an empty queue stays empty once retired
+        private void retireIfIdle() {
+            writers.computeIfPresent(sessionId,
+                    (id, writer) -> writer == this && queue.isEmpty() && !draining.get() ? null : writer);
+        }
+
+        private void drain() {
+            try {
+                List<PendingBooking> batch = new ArrayList<>();
+                PendingBooking booking;
+                while (true) {
+                    while (batch.size() < maxBatchSize && (booking = queue.poll()) != null) {
+                        batch.add(booking);
+                    }
+                    if (batch.isEmpty()) {
+                        break;
+                    }
+                    try {
+                        writeBatch(sessionId, batch);
+                    } catch (RuntimeException e) {
+                        batch.forEach(pending -> pending.result.completeExceptionally(e));
+                    }
+                    batch.clear();
+                }
+            } finally {
+                draining.set(false);
+                // A booking queued after the last poll but before the flag was cleared
+                if (!queue.isEmpty()) {
+                    scheduleDrain();
+                } else {
+                    retireIfIdle();
+                }
+            }
+        }
+    }
+
+    private static final class PendingBooking {
+        private final String idempotencyKey;
+        private final Long sessionId;
+        private final Long customerId;
+        private final SeatMap seats;
+        private final CompletableFuture<BookingConfirmation> result = new CompletableFuture<>();
+
+        private PendingBooking(String idempotencyKey, Long sessionId, Long customerId, SeatMap seats) {
+            this.idempotencyKey = idempotencyKey;
+            this.sessionId = sessionId;
+            this.customerId = customerId;
+            this.seats = seats;
+        }
+
+        private void checkSameRequest(PendingBooking other) {
+            if (!sessionId.equals(other.sessionId) || !customerId.equals(other.customerId)
+                    || !seats.equals(other.seats)) {
+                throw new BadRequestException("Idempotency key " + idempotencyKey
+                        + " was already used for another booking");
+            }
+        }
+
+        private void completeWith(Booking booking) {
+            if (!sessionId.equals(booking.getSession().getId()) || !customerId.equals(booking.getCustomer().getId())
+                    || !seats.equals(booking.getSeats())) {
+                result.completeExceptionally(new BadRequestException("Idempotency key " + idempotencyKey
+                        + " was already used for another booking"));
+            } else {
+                result.complete(BookingConfirmation.of(booking));
+            }
+        }
+
+        private Booking toEntity() {
+            Customer customer = new Customer();
+            customer.setId(customerId);
+            return new Booking(null, null, customer, seats, idempotencyKey, null);
+        }
+    }
+}
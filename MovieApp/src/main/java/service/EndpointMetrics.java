@@ -0,0 +1,149 @@
+package service;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, throughput and error metrics of every REST endpoint.
+ * Every call of a {@code @RestController} method is timed and recorded into an HdrHistogram
+ * {@link Recorder} of its endpoint, which records without allocating and without locks; the
+ * recorded values are folded into a histogram covering the whole uptime only when metrics are read.
+ * Asynchronous endpoints are timed until their future completes.
+ */
+@Aspect
+@Service
+public class EndpointMetrics {
+
+    /**
+     * Reported latency quantiles.
+     */
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Times a call of a REST controller method.
+     *
+     * @param call The intercepted call.
+     * @return The result of the call.
+     * @throws Throwable Whatever the call throws; it is counted as an error.
+     */
+    @Around("@within(org.springframework.web.bind.annotation.RestController) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint call) throws Throwable {
+        Endpoint endpoint = endpointOf(((MethodSignature) call.getSignature()).getMethod());
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = call.proceed();
+        } catch (Throwable e) {
+            endpoint.record(System.nanoTime() - start, true);
+            throw e;
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((value, error) -> endpoint.record(System.nanoTime() - start, error != null));
+        } else {
+            endpoint.record(System.nanoTime() - start, false);
+        }
+        return result;
+    }
+
+    /**
+     * Appends the metrics of every endpoint that has been called, in the Prometheus text format.
+     *
+     * @param out The text to append to.
+     */
+    public void appendTo(StringBuilder out) {
+        Map<String, Endpoint> sorted = new TreeMap<>();
+        endpoints.values().forEach(endpoint -> sorted.put(endpoint.name, endpoint));
+        Map<Endpoint, Histogram> histograms = new HashMap<>();
+        sorted.values().forEach(endpoint -> histograms.put(endpoint, endpoint.snapshot()));
+
+        out.append("# HELP http_server_requests_seconds Latency of REST endpoints since startup.\n");
+        out.append("# TYPE http_server_requests_seconds summary\n");
+        for (Endpoint endpoint : sorted.values()) {
+            Histogram histogram = histograms.get(endpoint);
+            for (double quantile : QUANTILES) {
+                out.append("http_server_requests_seconds{endpoint=\"").append(endpoint.name)
+                        .append("\",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(histogram.getValueAtPercentile(quantile * 100))).append('\n');
+            }
+            out.append("http_server_requests_seconds_count{endpoint=\"").append(endpoint.name).append("\"} ")
+                    .append(endpoint.count.sum()).append('\n');
+            out.append("http_server_requests_seconds_sum{endpoint=\"").append(endpoint.name).append("\"} ")
+                    .append(seconds(endpoint.totalNanos.sum())).append('\n');
+        }
+
+        out.append("# HELP http_server_requests_seconds_max Slowest call of REST endpoints since startup.\n");
+        out.append("# TYPE http_server_requests_seconds_max gauge\n");
+        for (Endpoint endpoint : sorted.values()) {
+            out.append("http_server_requests_seconds_max{endpoint=\"").append(endpoint.name).append("\"} ")
+                    .append(seconds(histograms.get(endpoint).getMaxValue())).append('\n');
+        }
+
+        out.append("# HELP http_server_requests_errors_total Calls of REST endpoints that threw.\n");
+        out.append("# TYPE http_server_requests_errors_total counter\n");
+        for (Endpoint endpoint : sorted.values()) {
+            out.append("http_server_requests_errors_total{endpoint=\"").append(endpoint.name).append("\"} ")
+                    .append(endpoint.errors.sum()).append('\n');
+        }
+    }
+
+    private Endpoint endpointOf(Method method) {
+        Endpoint endpoint = endpoints.get(method);
+        return endpoint != null ? endpoint : endpoints.computeIfAbsent(method, Endpoint::new);
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+
+    /**
+     * Metrics of one endpoint.
+     */
+    private static final class Endpoint {
+        private final String name;
+        private final Recorder recorder = new Recorder(3);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private Histogram total;
+        private Histogram interval;
+
+        private Endpoint(Method method) {
+            this.name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        }
+
+        private void record(long nanos, boolean error) {
+            recorder.recordValue(nanos);
+            count.increment();
+            totalNanos.add(nanos);
+            if (error) {
+                errors.increment();
+            }
+        }
+
+        // Folds the values recorded since the last read into the uptime histogram and returns a copy of it
+        private synchronized Histogram snapshot() {
+            interval = recorder.getIntervalHistogram(interval);
+            if (total == null) {
+                total = interval.copy();
+            } else {
+                total.add(interval);
+            }
+            return total.copy();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package service;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Low-overhead scheduler for many short-lived timeouts.
+ * Timeouts are hashed into a fixed ring of buckets by their deadline tick and a single
+ * thread advances the ring, so scheduling and cancelling are O(1) and no thread is
+ * created per timeout. Expiry is accurate to one tick.
+ */
+public class HashedTimerWheel implements AutoCloseable {
+
+    private final long tickNanos;
+    private final long startNanos = System.nanoTime();
+    private final Queue<Timeout>[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService ticker;
+
+    // Only touched by the ticker thread
+    private long currentTick;
+
+    /**
+     * Creates a timer wheel and starts its ticker thread.
+     *
+     * @param name          Name of the ticker thread.
+     * @param tickDuration  Length of one tick.
+     * @param unit          Unit of the tick duration.
+     * @param wheelSize     Number of buckets, rounded up to a power of two.
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(String name, long tickDuration, TimeUnit unit, int wheelSize) {
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.mask = size - 1;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickDuration, tickDuration, unit);
+    }
+
+    /**
+     * Schedules a task to run once after the given delay.
+     * The task runs on the ticker thread and must be short.
+     *
+     * @param task  The task to run.
+     * @param delay The delay before running the task.
+     * @param unit  Unit of the delay.
+     * @return Handle that can cancel the task.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long elapsed = System.nanoTime() - startNanos + unit.toNanos(delay);
+        Timeout timeout = new Timeout(task, (elapsed + tickNanos - 1) / tickNanos);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the ticker thread. Timeouts that have not expired yet never run.
+     */
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    private void advance() {
+        long now = (System.nanoTime() - startNanos) / tickNanos;
+        while (currentTick <= now) {
+            transferPending();
+            Iterator<Timeout> bucket = wheel[(int) (currentTick & mask)].iterator();
+            while (bucket.hasNext()) {
+                Timeout timeout = bucket.next();
+                if (timeout.cancelled) {
+                    bucket.remove();
+                } else if (timeout.deadline <= currentTick) {
+                    bucket.remove();
+                    run(timeout);
+                }
+            }
+            currentTick++;
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (!timeout.cancelled) {
+                long tick = Math.max(timeout.deadline, currentTick);
+                wheel[(int) (tick & mask)].add(timeout);
+            }
+        }
+    }
+
+    private void run(Timeout timeout) {
+        try {
+            timeout.task.run();
+        } catch (RuntimeException e) {
+            // A failing task must not stop the wheel
+            Thread.currentThread().getUncaughtExceptionHandler()
+                    .uncaughtException(Thread.currentThread(), e);
+        }
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public static final class Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the task if it has not run yet.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
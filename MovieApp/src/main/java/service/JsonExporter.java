@@ -0,0 +1,60 @@
+package service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes large result sets to the response as a JSON array, one element at a time,
+ * instead of building the whole list in memory first.
+ */
+@Service
+public class JsonExporter {
+
+    private final ObjectWriter writer;
+
+    /**
+     * Constructor for JsonExporter.
+     *
+     * @param objectMapper The shared mapper JSON responses are written with.
+     */
+    public JsonExporter(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Creates a streaming JSON response.
+     * The source is run on the response thread and hands every row to the given consumer.
+     *
+     * @param source Function producing the rows.
+     * @param <T>    Type of the rows.
+     * @return The streaming response.
+     */
+    public <T> ResponseEntity<StreamingResponseBody> stream(Consumer<Consumer<? super T>> source) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = writer.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                source.accept(row -> {
+                    try {
+                        writer.writeValue(generator, row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,190 @@
+package service;
+
+import dao.MovieDao;
+import model.Genre;
+import model.Movie;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory recommendation index over the movies screening this week.
+ * Every movie's genres are stored as a bitmask and its age restriction as a one-bit mask,
+ * with inverted genre and age restriction indexes pointing back to the movies. A customer
+ * profile is folded into the same masks, so scoring a candidate takes a few bitwise operations.
+ * The index is built from the cached week schedule of {@link MovieDao#getWeekMovies()} and
+ * rebuilt lazily whenever that schedule is reloaded.
+ */
+@Service
+public class RecommendationIndex {
+
+    /**
+     * Weight of every genre a movie shares with the customer's history.
+     */
+    private static final int GENRE_WEIGHT = 2;
+
+    /**
+     * Weight of a movie having an age restriction the customer has watched before.
+     */
+    private static final int AGE_RESTRICTION_WEIGHT = 1;
+
+    private final MovieDao movieDao;
+    private volatile WeekIndex index;
+
+    /**
+     * Constructor for RecommendationIndex.
+     *
+     * @param movieDao Instance of MovieDao.
+     */
+    public RecommendationIndex(MovieDao movieDao) {
+        this.movieDao = movieDao;
+    }
+
+    /**
+     * Recommends movies screening this week, ordered from the most to the least relevant.
+     * A movie is recommended if it shares a genre or the age restriction with a watched movie.
+     *
+     * @param watchedGenreIds          IDs of the genres of the movies the customer has watched.
+     * @param watchedAgeRestrictions   Age restrictions of the movies the customer has watched.
+     * @return List of recommended movies.
+     */
+    public List<Movie> recommend(Collection<Long> watchedGenreIds, Collection<String> watchedAgeRestrictions) {
+        return currentIndex().recommend(watchedGenreIds, watchedAgeRestrictions);
+    }
+
+    private WeekIndex currentIndex() {
+        List<Movie> weekMovies = movieDao.getWeekMovies();
+        WeekIndex current = index;
+        // The DAO hands out the same list until the schedule is reloaded
+        if (current != null && current.source == weekMovies) {
+            return current;
+        }
+
+        WeekIndex rebuilt = new WeekIndex(weekMovies);
+        index = rebuilt;
+        return rebuilt;
+    }
+
+    /**
+     * Immutable index snapshot for one week.
+     */
+    private static final class WeekIndex {
+        private final List<Movie> source;
+        private final Movie[] movies;
+        private final long[] genreMasks;
+        private final long[] ageRestrictionMasks;
+        private final Map<Long, Integer> genreBits = new HashMap<>();
+        private final Map<String, Integer> ageRestrictionBits = new HashMap<>();
+        private final int[][] moviesByGenreBit = new int[64][];
+        private final int[][] moviesByAgeRestrictionBit = new int[64][];
+
+        private WeekIndex(List<Movie> weekMovies) {
+            this.source = weekMovies;
+            this.movies = weekMovies.toArray(new Movie[0]);
+            this.genreMasks = new long[movies.length];
+            this.ageRestrictionMasks = new long[movies.length];
+
+            int[] genrePostingSizes = new int[64];
+            int[] agePostingSizes = new int[64];
+            for (int i = 0; i < movies.length; i++) {
+                long genreMask = 0;
+                if (movies[i].getGenres() != null) {
+                    for (Genre genre : movies[i].getGenres()) {
+                        genreMask |= 1L << bitOf(genreBits, genre.getId());
+                    }
+                }
+                genreMasks[i] = genreMask;
+                ageRestrictionMasks[i] = 1L << bitOf(ageRestrictionBits, movies[i].getAgeRestriction());
+                countBits(genreMask, genrePostingSizes);
+                countBits(ageRestrictionMasks[i], agePostingSizes);
+            }
+
+            for (int bit = 0; bit < 64; bit++) {
+                moviesByGenreBit[bit] = new int[genrePostingSizes[bit]];
+                moviesByAgeRestrictionBit[bit] = new int[agePostingSizes[bit]];
+            }
+            Arrays.fill(genrePostingSizes, 0);
+            Arrays.fill(agePostingSizes, 0);
+            for (int i = 0; i < movies.length; i++) {
+                addPostings(i, genreMasks[i], moviesByGenreBit, genrePostingSizes);
+                addPostings(i, ageRestrictionMasks[i], moviesByAgeRestrictionBit, agePostingSizes);
+            }
+        }
+
+        private List<Movie> recommend(Collection<Long> watchedGenreIds, Collection<String> watchedAgeRestrictions) {
+            long genreProfile = profileMask(genreBits, watchedGenreIds);
+            long ageRestrictionProfile = profileMask(ageRestrictionBits, watchedAgeRestrictions);
+
+            // Candidate generation through the inverted indexes
+            boolean[] candidate = new boolean[movies.length];
+            int candidates = markPostings(genreProfile, moviesByGenreBit, candidate)
+                    + markPostings(ageRestrictionProfile, moviesByAgeRestrictionBit, candidate);
+
+            // Score candidates; sort keys hold the negated score above the movie position
+            long[] ranked = new long[candidates];
+            int count = 0;
+            for (int i = 0; i < movies.length; i++) {
+                if (candidate[i]) {
+                    int score = Long.bitCount(genreMasks[i] & genreProfile) * GENRE_WEIGHT
+                            + ((ageRestrictionMasks[i] & ageRestrictionProfile) != 0 ? AGE_RESTRICTION_WEIGHT : 0);
+                    ranked[count++] = ((long) (Integer.MAX_VALUE - score) << 32) | i;
+                }
+            }
+            Arrays.sort(ranked, 0, count);
+
+            List<Movie> recommended = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                recommended.add(movies[(int) ranked[i]]);
+            }
+            return recommended;
+        }
+
+        // Bits are assigned densely in order of first appearance. With more than 64 distinct
+        // values in one week, values share bits, which can only add weak matches.
+        private static <K> int bitOf(Map<K, Integer> bits, K key) {
+            return bits.computeIfAbsent(key, k -> bits.size() % 64);
+        }
+
+        private static <K> long profileMask(Map<K, Integer> bits, Collection<K> keys) {
+            long mask = 0;
+            for (K key : keys) {
+                Integer bit = bits.get(key);
+                if (bit != null) {
+                    mask |= 1L << bit;
+                }
+            }
+            return mask;
+        }
+
+        private static void countBits(long mask, int[] sizes) {
+            for (long rest = mask; rest != 0; rest &= rest - 1) {
+                sizes[Long.numberOfTrailingZeros(rest)]++;
+            }
+        }
+
+        private static void addPostings(int movie, long mask, int[][] postings, int[] sizes) {
+            for (long rest = mask; rest != 0; rest &= rest - 1) {
+                int bit = Long.numberOfTrailingZeros(rest);
+                postings[bit][sizes[bit]++] = movie;
+            }
+        }
+
+        private static int markPostings(long profile, int[][] postings, boolean[] candidate) {
+            int marked = 0;
+            for (long rest = profile; rest != 0; rest &= rest - 1) {
+                for (int movie : postings[Long.numberOfTrailingZeros(rest)]) {
+                    if (!candidate[movie]) {
+                        candidate[movie] = true;
+                        marked++;
+                    }
+                }
+            }
+            return marked;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package service;
+
+import model.SeatMap;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Picks the best seats for a group of tickets.
+ * Every seat has a precomputed score, its doubled Manhattan distance from the centre of the
+ * hall plus a penalty for the rows too close to the screen. The allocator slides a window of
+ * the requested size over every row and keeps the free contiguous block with the lowest total
+ * score. If no row has a large enough gap, the best free seats are taken centre outwards.
+ * All work is done on primitive arrays and bitmasks.
+ */
+@Component
+public class SeatAllocator {
+
+    /**
+     * Rows closer to the screen than this are penalised.
+     */
+    private static final int MIN_ROW = 2;
+
+    /**
+     * Penalty added to the score of every seat in a row that is too close to the screen.
+     */
+    private static final int FRONT_ROW_PENALTY = 2 * SeatMap.ROWS;
+
+    private static final int ROWS = SeatMap.ROWS;
+    private static final int SEATS_PER_ROW = SeatMap.SEATS_PER_ROW;
+
+    // Score of every seat by index, lower is better
+    private final int[] seatScores = new int[SeatMap.CAPACITY];
+
+    // Per row prefix sums of seat scores, so a block score is a single subtraction
+    private final int[] scorePrefix = new int[ROWS * (SEATS_PER_ROW + 1)];
+
+    // Seat indices ordered from the best to the worst score
+    private final int[] seatsByScore;
+
+    /**
+     * Constructor for SeatAllocator. Precomputes the seat scores.
+     */
+    public SeatAllocator() {
+        for (int row = 1; row <= ROWS; row++) {
+            int prefixBase = (row - 1) * (SEATS_PER_ROW + 1);
+            for (int seat = 1; seat <= SEATS_PER_ROW; seat++) {
+                int score = Math.abs(2 * row - (ROWS + 1)) + Math.abs(2 * seat - (SEATS_PER_ROW + 1));
+                if (row < MIN_ROW) {
+                    score += FRONT_ROW_PENALTY;
+                }
+                seatScores[SeatMap.index(row, seat)] = score;
+                scorePrefix[prefixBase + seat] = scorePrefix[prefixBase + seat - 1] + score;
+            }
+        }
+        seatsByScore = IntStream.range(0, SeatMap.CAPACITY)
+                .boxed()
+                .sorted(Comparator.comparingInt((Integer index) -> seatScores[index]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Chooses seats for a number of tickets.
+     *
+     * @param taken        Seats that cannot be chosen.
+     * @param numOfTickets Number of seats to choose.
+     * @return The chosen seats; fewer than requested if the hall is too full.
+     */
+    public SeatMap allocate(SeatMap taken, int numOfTickets) {
+        if (numOfTickets <= 0) {
+            return SeatMap.EMPTY;
+        }
+        if (numOfTickets <= SEATS_PER_ROW) {
+            SeatMap block = bestBlock(taken, numOfTickets);
+            if (block != null) {
+                return block;
+            }
+        }
+        return bestScattered(taken, numOfTickets);
+    }
+
+    // Sliding-window search for the best free contiguous block in any row
+    private SeatMap bestBlock(SeatMap taken, int size) {
+        int windowMask = (1 << size) - 1;
+        int bestScore = Integer.MAX_VALUE;
+        int bestStart = -1;
+
+        for (int row = 1; row <= ROWS; row++) {
+            int rowTaken = taken.rowBits(row);
+            int prefixBase = (row - 1) * (SEATS_PER_ROW + 1);
+            for (int start = 0; start + size <= SEATS_PER_ROW; start++) {
+                if ((rowTaken & (windowMask << start)) != 0) {
+                    continue;
+                }
+                int score = scorePrefix[prefixBase + start + size] - scorePrefix[prefixBase + start];
+                if (score < bestScore) {
+                    bestScore = score;
+                    bestStart = (row - 1) * SEATS_PER_ROW + start;
+                }
+            }
+        }
+
+        if (bestStart < 0) {
+            return null;
+        }
+        long low = 0;
+        long high = 0;
+        for (int index = bestStart; index < bestStart + size; index++) {
+            if (index < 64) {
+                low |= 1L << index;
+            } else {
+                high |= 1L << (index - 64);
+            }
+        }
+        return new SeatMap(low, high);
+    }
+
+    // Fallback when the group does not fit in one row: the best free seats, centre outwards
+    private SeatMap bestScattered(SeatMap taken, int numOfTickets) {
+        long low = 0;
+        long high = 0;
+        int chosen = 0;
+        for (int i = 0; i < seatsByScore.length && chosen < numOfTickets; i++) {
+            int index = seatsByScore[i];
+            if (taken.contains(index)) {
+                continue;
+            }
+            if (index < 64) {
+                low |= 1L << index;
+            } else {
+                high |= 1L << (index - 64);
+            }
+            chosen++;
+        }
+        return new SeatMap(low, high);
+    }
+}
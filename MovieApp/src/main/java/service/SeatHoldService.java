@@ -0,0 +1,173 @@
+package service;
+
+import dao.SeatInventory;
+import dto.SeatHold;
+import exception.BadRequestException;
+import exception.NotFoundException;
+import exception.SeatsTakenException;
+import model.Seat;
+import model.SeatMap;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Temporarily reserves seats for a customer until they are confirmed, released or expire.
+ * Held seats of each session are kept in their own lock-free {@link SeatMap} reference,
+ * so holds on one session never contend with another. Expiry is driven by a shared
+ * {@link HashedTimerWheel}.
+ */
+@Service
+public class SeatHoldService implements DisposableBean {
+
+    private final SeatInventory seatInventory;
+    private final int maxHoldMinutes;
+    private final HashedTimerWheel expiryWheel;
+
+    private final Map<Long, AtomicReference<SeatMap>> heldSeats = new ConcurrentHashMap<>();
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for SeatHoldService.
+     *
+     * @param seatInventory The inventory holding the occupied seats of every session.
+     * @param env           The environment object to retrieve properties.
+     */
+    public SeatHoldService(SeatInventory seatInventory, Environment env) {
+        this.seatInventory = seatInventory;
+        this.maxHoldMinutes = env.getProperty("seats.hold.maxMinutes", Integer.class, 15);
+        this.expiryWheel = new HashedTimerWheel("seat-hold-expiry",
+                env.getProperty("seats.hold.tickMillis", Long.class, 1000L), TimeUnit.MILLISECONDS, 1024);
+    }
+
+    /**
+     * Holds seats in a session. Fails if any of them is occupied or already held.
+     *
+     * @param sessionId The ID of the session.
+     * @param seats     The seats to hold.
+     * @param minutes   How long to hold the seats, capped at the configured maximum.
+     * @return The created hold.
+     */
+    public SeatHold holdSeats(Long sessionId, List<Seat> seats, int minutes) {
+        if (seats == null || seats.isEmpty()) {
+            throw new BadRequestException("No seats to hold");
+        }
+        SeatMap requested = SeatMap.of(seats);
+        if (requested.intersects(seatInventory.getOccupiedSeats(sessionId))) {
+            throw new SeatsTakenException("Seats are already taken in session " + sessionId);
+        }
+
+        AtomicReference<SeatMap> held = heldSeats.computeIfAbsent(sessionId, id -> new AtomicReference<>(SeatMap.EMPTY));
+        SeatMap current;
+        do {
+            current = held.get();
+            if (current.intersects(requested)) {
+                throw new SeatsTakenException("Seats are already held in session " + sessionId);
+            }
+        } while (!held.compareAndSet(current, current.union(requested)));
+
+        int ttl = Math.max(1, Math.min(minutes, maxHoldMinutes));
+        Hold hold = new Hold(UUID.randomUUID().toString(), sessionId, requested,
+                Instant.now().plusSeconds(TimeUnit.MINUTES.toSeconds(ttl)));
+        hold.timeout = expiryWheel.schedule(() -> expire(hold), ttl, TimeUnit.MINUTES);
+        holds.put(hold.id, hold);
+
+        return toSeatHold(hold);
+    }
+
+    /**
+     * Turns a hold into occupied seats.
+     *
+     * @param sessionId The ID of the session.
+     * @param holdId    The ID of the hold.
+     * @return The confirmed hold.
+     */
+    public SeatHold confirmHold(Long sessionId, String holdId) {
+        Hold hold = removeHold(sessionId, holdId);
+        try {
+            seatInventory.occupySeats(sessionId, hold.seats);
+        } finally {
+            unhold(hold);
+        }
+        return toSeatHold(hold);
+    }
+
+    /**
+     * Releases a hold before it expires.
+     *
+     * @param sessionId The ID of the session.
+     * @param holdId    The ID of the hold.
+     */
+    public void releaseHold(Long sessionId, String holdId) {
+        unhold(removeHold(sessionId, holdId));
+    }
+
+    /**
+     * Retrieves the seats currently held in a session.
+     *
+     * @param sessionId The ID of the session.
+     * @return The held seats.
+     */
+    public SeatMap getHeldSeats(Long sessionId) {
+        AtomicReference<SeatMap> held = heldSeats.get(sessionId);
+        return held == null ? SeatMap.EMPTY : held.get();
+    }
+
+    /**
+     * Stops the expiry wheel when the application context is closed.
+     */
+    @Override
+    public void destroy() {
+        expiryWheel.close();
+    }
+
+    private Hold removeHold(Long sessionId, String holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold == null || !hold.sessionId.equals(sessionId) || !holds.remove(holdId, hold)) {
+            throw new NotFoundException("No hold " + holdId + " in session " + sessionId);
+        }
+        hold.timeout.cancel();
+        return hold;
+    }
+
+    private void expire(Hold hold) {
+        if (holds.remove(hold.id, hold)) {
+            unhold(hold);
+        }
+    }
+
+    private void unhold(Hold hold) {
+        AtomicReference<SeatMap> held = heldSeats.get(hold.sessionId);
+        SeatMap current;
+        do {
+            current = held.get();
+        } while (!held.compareAndSet(current, current.minus(hold.seats)));
+    }
+
+    private SeatHold toSeatHold(Hold hold) {
+        return new SeatHold(hold.id, hold.sessionId, hold.seats.toSeatList(false), hold.expiresAt);
+    }
+
+    private static final class Hold {
+        private final String id;
+        private final Long sessionId;
+        private final SeatMap seats;
+        private final Instant expiresAt;
+        private volatile HashedTimerWheel.Timeout timeout;
+
+        private Hold(String id, Long sessionId, SeatMap seats, Instant expiresAt) {
+            this.id = id;
+            this.sessionId = sessionId;
+            this.seats = seats;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
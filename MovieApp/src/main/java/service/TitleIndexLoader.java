@@ -0,0 +1,36 @@
+package service;
+
+import config.StartupTimer;
+import dao.MovieDao;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+
+/**
+ * Builds the title suggestion index of {@link MovieDao} at startup, so that the first suggestions
+ * do not have to wait for all titles to be read.
+ */
+@Service
+public class TitleIndexLoader implements SmartInitializingSingleton {
+
+    private final MovieDao movieDao;
+    private final StartupTimer startupTimer;
+
+    /**
+     * Constructor for TitleIndexLoader.
+     *
+     * @param movieDao     Instance of MovieDao.
+     * @param startupTimer The timer of the startup phases.
+     */
+    public TitleIndexLoader(MovieDao movieDao, StartupTimer startupTimer) {
+        this.movieDao = movieDao;
+        this.startupTimer = startupTimer;
+    }
+
+    /**
+     * Loads all titles once all beans have been created.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        startupTimer.time("title index", movieDao::loadTitleIndex);
+    }
+}
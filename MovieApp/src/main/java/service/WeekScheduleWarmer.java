@@ -0,0 +1,44 @@
+package service;
+
+import dao.MovieDao;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps the week schedule cache of {@link MovieDao} warm. The current week is loaded at startup,
+ * and the next week is loaded shortly before the week rolls over, so that the first requests
+ * of a week do not have to wait for the schedule query.
+ */
+@Service
+public class WeekScheduleWarmer implements SmartInitializingSingleton {
+
+    private final MovieDao movieDao;
+
+    /**
+     * Constructor for WeekScheduleWarmer.
+     *
+     * @param movieDao Instance of MovieDao.
+     */
+    public WeekScheduleWarmer(MovieDao movieDao) {
+        this.movieDao = movieDao;
+    }
+
+    /**
+     * Loads the schedule of the current week once all beans have been created.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        movieDao.getWeekMovies();
+    }
+
+    /**
+     * Loads the schedule of the next week, by default at 23:00 on Sunday.
+     */
+    @Scheduled(cron = "${schedule.prewarm.cron:0 0 23 * * SUN}")
+    public void prewarmNextWeek() {
+        movieDao.getWeekMovies(LocalDate.now().plusWeeks(1));
+    }
+}
@@ -1,10 +1,18 @@
-CREATE SEQUENCE customer1 AS INTEGER START WITH 1;
+-- Schema version marker; DbConfig skips this script when it finds DbConfig.SCHEMA_VERSION here.
+-- Increment DbConfig.SCHEMA_VERSION with every change of this script.
+CREATE TABLE schemaVersion (
+    version INTEGER NOT NULL PRIMARY KEY
+);
+
+-- customer1, session1, movie1 and customerSession1 hand out blocks of 50 ids; the increment must match
+-- the allocationSize of the entity's @SequenceGenerator.
+CREATE SEQUENCE customer1 AS INTEGER START WITH 1 INCREMENT BY 50;
 CREATE SEQUENCE genre1 AS INTEGER START WITH 1;
-CREATE SEQUENCE session1 AS INTEGER START WITH 1;
+CREATE SEQUENCE session1 AS INTEGER START WITH 1 INCREMENT BY 50;
 CREATE SEQUENCE language1 AS INTEGER START WITH 1;
-CREATE SEQUENCE movie1 AS INTEGER START WITH 1;
+CREATE SEQUENCE movie1 AS INTEGER START WITH 1 INCREMENT BY 50;
 CREATE SEQUENCE movieGenre1 AS INTEGER START WITH 1;
-CREATE SEQUENCE customerSession1 AS INTEGER START WITH 1;
+CREATE SEQUENCE customerSession1 AS INTEGER START WITH 1 INCREMENT BY 50;
 
 
 
@@ -56,6 +64,8 @@ CREATE TABLE sessions (
     hallNr varchar(20)  NOT NULL,
     startAt timestamp  NOT NULL,
     price decimal(2,2)  NOT NULL,
+    occupiedLow BIGINT DEFAULT 0 NOT NULL,
+    occupiedHigh BIGINT DEFAULT 0 NOT NULL,
     FOREIGN KEY (language_id)
         REFERENCES "languages" ON DELETE CASCADE,
     FOREIGN KEY (movie_id)
@@ -63,15 +73,77 @@ CREATE TABLE sessions (
 
 );
 
--- Table: UserSession
+-- Table: UserSession, one row per booking; rows written through Customer.history book no seats
 CREATE TABLE customerSessions (
     id BIGINT NOT NULL PRIMARY KEY DEFAULT nextval('customerSession1'),
     session_id BIGINT  NOT NULL,
     customer_id BIGINT  NOT NULL,
+    seatsLow BIGINT DEFAULT 0 NOT NULL,
+    seatsHigh BIGINT DEFAULT 0 NOT NULL,
+    idempotencyKey varchar(64),
+    bookedAt timestamp DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    UNIQUE (idempotencyKey),
     FOREIGN KEY (session_id)
         REFERENCES sessions ON DELETE CASCADE,
     FOREIGN KEY (customer_id)
         REFERENCES customers ON DELETE CASCADE
 );
 
+-- Taste profile of a customer, updated with every booking
+CREATE TABLE customerProfiles (
+    customer_id BIGINT NOT NULL PRIMARY KEY,
+    bookings INTEGER DEFAULT 0 NOT NULL,
+    lastBookedAt timestamp,
+    lastSessionAt timestamp,
+    FOREIGN KEY (customer_id)
+        REFERENCES customers ON DELETE CASCADE
+);
+
+CREATE TABLE customerGenreAffinities (
+    customer_id BIGINT NOT NULL,
+    genre_id BIGINT NOT NULL,
+    bookings INTEGER NOT NULL,
+    lastSeenAt timestamp NOT NULL,
+    PRIMARY KEY (customer_id, genre_id),
+    FOREIGN KEY (customer_id)
+        REFERENCES customerProfiles ON DELETE CASCADE
+);
+
+CREATE TABLE customerAgeAffinities (
+    customer_id BIGINT NOT NULL,
+    ageRestriction varchar(10) NOT NULL,
+    bookings INTEGER NOT NULL,
+    lastSeenAt timestamp NOT NULL,
+    PRIMARY KEY (customer_id, ageRestriction),
+    FOREIGN KEY (customer_id)
+        REFERENCES customerProfiles ON DELETE CASCADE
+);
+
+CREATE TABLE customerLanguageAffinities (
+    customer_id BIGINT NOT NULL,
+    language_id BIGINT NOT NULL,
+    bookings INTEGER NOT NULL,
+    lastSeenAt timestamp NOT NULL,
+    PRIMARY KEY (customer_id, language_id),
+    FOREIGN KEY (customer_id)
+        REFERENCES customerProfiles ON DELETE CASCADE
+);
+
+-- Indexes for the hot queries. HSQLDB already indexes every foreign key column on its own.
+
+-- Week schedule (startAt range) and session keyset paging (startAt, id)
+CREATE INDEX sessions_startAt_idx ON sessions (startAt, id);
+
+-- Sessions of one movie in a time range
+CREATE INDEX sessions_movie_startAt_idx ON sessions (movie_id, startAt);
+
+-- Genre lookups from either side of the join table
+CREATE INDEX movieGenres_movie_genre_idx ON movieGenres (movie_id, genre_id);
+CREATE INDEX movieGenres_genre_movie_idx ON movieGenres (genre_id, movie_id);
+
+-- Movie search filters and sort keys
+CREATE INDEX movies_title_idx ON movies (title);
+CREATE INDEX movies_releaseDate_idx ON movies (releaseDate);
 
+-- Watch history of a customer
+CREATE INDEX customerSessions_customer_session_idx ON customerSessions (customer_id, session_id);
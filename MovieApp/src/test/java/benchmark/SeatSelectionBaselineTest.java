@@ -0,0 +1,113 @@
+package benchmark;
+
+import model.Seat;
+import model.SeatMap;
+import org.junit.jupiter.api.Test;
+import service.SeatAllocator;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the seats {@link SeatAllocator} chooses with those of the selection it replaced,
+ * {@link BaselineSeatSelection}, on seeded halls of growing occupancy: wherever the baseline kept
+ * a group together, the allocator does too, in a block at least as central.
+ */
+class SeatSelectionBaselineTest {
+
+    private static final double[] OCCUPANCIES = {0.0, 0.25, 0.5, 0.75, 0.9};
+    private static final int HALLS_PER_OCCUPANCY = 50;
+
+    private final SeatAllocator seatAllocator = new SeatAllocator();
+    private final BaselineSeatSelection baseline = new BaselineSeatSelection();
+
+    @Test
+    void allocatorKeepsGroupsTogetherWhereverTheBaselineDid() {
+        int baselineBlocks = 0;
+        int allocatorBlocks = 0;
+        for (double occupancy : OCCUPANCIES) {
+            for (int seed = 0; seed < HALLS_PER_OCCUPANCY; seed++) {
+                SeatMap taken = Fixtures.occupiedSeats(occupancy, new Random(seed));
+                for (int numOfTickets = 1; numOfTickets <= SeatMap.SEATS_PER_ROW; numOfTickets++) {
+                    String hall = "occupancy " + occupancy + ", seed " + seed + ", " + numOfTickets + " tickets";
+                    List<Seat> chosen = seatAllocator.allocate(taken, numOfTickets).toSeatList(true);
+                    List<Seat> chosenBefore = selectBaseline(taken, numOfTickets);
+
+                    assertFalse(SeatMap.of(chosen).intersects(taken), hall);
+                    assertEquals(Math.min(numOfTickets, SeatMap.CAPACITY - taken.count()), chosen.size(), hall);
+                    if (isBlock(chosen, numOfTickets)) {
+                        allocatorBlocks++;
+                    }
+                    if (isBlock(chosenBefore, numOfTickets)) {
+                        baselineBlocks++;
+                        assertTrue(isBlock(chosen, numOfTickets), hall);
+                        assertTrue(score(chosen) <= score(chosenBefore), hall);
+                    }
+                }
+            }
+        }
+        assertTrue(allocatorBlocks > baselineBlocks,
+                "allocator kept " + allocatorBlocks + " groups together, the baseline " + baselineBlocks);
+    }
+
+    @Test
+    void allocatorFillsHallsWhereTheBaselineFails() {
+        // Every seat of the baseline's preferred area taken, the rest of the hall free
+        SeatMap taken = SeatMap.EMPTY;
+        for (int row = 2; row <= SeatMap.ROWS; row++) {
+            for (int seat = 1; seat <= SeatMap.SEATS_PER_ROW; seat++) {
+                if (Math.abs(row - 4) + Math.abs(seat - 5) <= 5) {
+                    taken = taken.union(SeatMap.of(List.of(new Seat(row, seat, false))));
+                }
+            }
+        }
+
+        assertTrue(selectBaseline(taken, 2).isEmpty());
+        assertTrue(isBlock(seatAllocator.allocate(taken, 2).toSeatList(true), 2));
+    }
+
+    // The baseline throws when no seat of its preferred area is free, which counts as choosing none
+    private List<Seat> selectBaseline(SeatMap taken, int numOfTickets) {
+        try {
+            return baseline.select(taken, numOfTickets);
+        } catch (NullPointerException e) {
+            return List.of();
+        }
+    }
+
+    private static boolean isBlock(List<Seat> seats, int size) {
+        if (seats.size() != size) {
+            return false;
+        }
+        List<Seat> ordered = seats.stream()
+                .sorted((a, b) -> Integer.compare(SeatMap.index(a.getRowNr(), a.getSeatNr()),
+                        SeatMap.index(b.getRowNr(), b.getSeatNr())))
+                .toList();
+        for (int i = 1; i < ordered.size(); i++) {
+            Seat previous = ordered.get(i - 1);
+            Seat seat = ordered.get(i);
+            if (seat.getRowNr() != previous.getRowNr() || seat.getSeatNr() != previous.getSeatNr() + 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Same scoring as SeatAllocator: doubled Manhattan distance from the centre of the hall,
+    // plus a penalty for the front row
+    private static int score(List<Seat> seats) {
+        int score = 0;
+        for (Seat seat : seats) {
+            score += Math.abs(2 * seat.getRowNr() - (SeatMap.ROWS + 1))
+                    + Math.abs(2 * seat.getSeatNr() - (SeatMap.SEATS_PER_ROW + 1));
+            if (seat.getRowNr() < 2) {
+                score += 2 * SeatMap.ROWS;
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,65 @@
+package config;
+
+import dao.ReadYourWrites;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that an asynchronous request keeps reading its own writes on the thread that continues it,
+ * and that the servlet thread it released forgets them.
+ */
+class ReadYourWritesPropagationTest {
+
+    private static final long MAX_LAG_MILLIS = 60_000;
+
+    @AfterEach
+    void clearHints() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void requestExecutorHandsTheHintsToItsTasks() throws Exception {
+        VirtualThreadTaskExecutor executor = new MvcConfig(new MockEnvironment()).requestExecutor();
+        try {
+            ReadYourWrites.writeCommitted();
+
+            assertTrue(executor.submitCompletable(() -> ReadYourWrites.requiresPrimary(MAX_LAG_MILLIS)).get());
+
+            ReadYourWrites.clear();
+            assertFalse(executor.submitCompletable(() -> ReadYourWrites.requiresPrimary(MAX_LAG_MILLIS)).get());
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void propagatedTaskRestoresTheHintsOfItsThread() {
+        ReadYourWrites.writeCommitted();
+        Runnable task = ReadYourWrites.propagate(() -> assertTrue(ReadYourWrites.requiresPrimary(MAX_LAG_MILLIS)));
+        ReadYourWrites.clear();
+
+        task.run();
+
+        assertFalse(ReadYourWrites.requiresPrimary(MAX_LAG_MILLIS));
+    }
+
+    @Test
+    void releasedServletThreadForgetsTheHints() {
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ReplicaRoutingDataSource.LAST_WRITE_HEADER, String.valueOf(System.currentTimeMillis()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new Object());
+        assertTrue(ReadYourWrites.requiresPrimary(MAX_LAG_MILLIS));
+
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+        assertFalse(ReadYourWrites.requiresPrimary(MAX_LAG_MILLIS));
+    }
+}
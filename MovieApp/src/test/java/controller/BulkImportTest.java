@@ -0,0 +1,51 @@
+package controller;
+
+import config.DbConfig;
+import config.MvcConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the bulk imports reject rows referencing their movie, language or genres without an ID
+ * as bad requests, instead of failing with a server error.
+ */
+@SpringJUnitWebConfig(classes = {DbConfig.class, MvcConfig.class})
+@TestPropertySource(properties = "hsql.url=jdbc:hsqldb:mem:bulkImportTest;sql.syntax_pgs=true;hsqldb.tx=mvcc")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BulkImportTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    void setUpMockMvc() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @ParameterizedTest(name = "{0} rejects {1}")
+    @CsvSource(delimiter = '|', value = {
+            "/sessions/bulk | [{\"language\": {\"id\": 1}, \"hallNr\": \"1\"}]",
+            "/sessions/bulk | [{\"movie\": {}, \"language\": {\"id\": 1}, \"hallNr\": \"1\"}]",
+            "/sessions/bulk | [{\"movie\": {\"id\": 1}, \"hallNr\": \"1\"}]",
+            "/movies/bulk | [{\"title\": \"Heat\", \"genres\": [{}]}]",
+            "/movies/bulk | [{\"title\": \"Heat\", \"genres\": [{\"id\": 1}, null]}]"
+    })
+    void bulkImportRejectsReferencesWithoutId(String url, String body) throws Exception {
+        mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,92 @@
+package controller;
+
+import config.DbConfig;
+import config.MvcConfig;
+import dao.MovieDao;
+import dao.SyntheticCinema;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the read endpoints against N+1 queries: each request may prepare only a fixed number of
+ * statements, however many rows it returns. The counts come from the Hibernate statistics, which
+ * DbConfig enables, and are upper bounds since the second-level cache can answer some reads.
+ */
+@SpringJUnitWebConfig(classes = {DbConfig.class, MvcConfig.class})
+@TestPropertySource(properties = "hsql.url=jdbc:hsqldb:mem:statementCountTest;sql.syntax_pgs=true;hsqldb.tx=mvcc")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StatementCountTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    @Qualifier("dataSource")
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MovieDao movieDao;
+
+    private MockMvc mockMvc;
+    private Statistics statistics;
+
+    @BeforeAll
+    void loadCinema() {
+        SyntheticCinema.load(dataSource, 200, 2_000, 200, new Random(42));
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest(name = "{0} prepares at most {1} statements")
+    @CsvSource({
+            "/movies, 1",
+            "/movies/search?limit=50, 2",
+            "/movies/search?genreId=1&sort=-releaseDate&limit=50, 2",
+            "/movies/search?languageId=1&limit=50, 2",
+            "/movies/1, 1",
+            "/sessions?limit=100, 1",
+            "/sessions/1, 1",
+            "/sessions/1/seats?numOfTickets=2, 1",
+            "/customers?limit=100, 1",
+            "/customers/1, 1",
+            "/customers/1/profile, 4",
+            "/customers/1/recommendations, 3",
+            "/genres, 1",
+            "/genres/1, 1",
+            "/languages, 1",
+            "/languages/1, 1"
+    })
+    void readEndpointPreparesBoundedStatements(String url, long maxStatements) throws Exception {
+        // Otherwise the schedule cached by an earlier request would be served without a query
+        movieDao.invalidateWeekMovies();
+        statistics.clear();
+
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= maxStatements,
+                () -> url + " prepared " + statements + " statements, expected at most " + maxStatements);
+    }
+}
@@ -0,0 +1,214 @@
+package dao;
+
+import config.DbConfig;
+import config.MvcConfig;
+import controller.CustomerController;
+import dto.MovieSearchCriteria;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+
+import javax.sql.DataSource;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Regression suite for the hot read queries: the week schedule, movie search and recommendations.
+ * Loads a large synthetic cinema and checks that the query plans use the indexes of schema.sql.
+ * The latency budgets are tagged {@value #LATENCY} and only run with {@code ./gradlew queryBudgets};
+ * they can be scaled with the {@code query.budgetFactor} system property on slower machines.
+ */
+@SpringJUnitWebConfig(classes = {DbConfig.class, MvcConfig.class})
+@TestPropertySource(properties = "hsql.url=jdbc:hsqldb:mem:queryPerformanceTest;sql.syntax_pgs=true;hsqldb.tx=mvcc")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPerformanceTest {
+
+    static final String LATENCY = "latency";
+
+    private static final int MOVIES = 5_000;
+    private static final int SESSIONS = 200_000;
+    private static final int CUSTOMERS = 20_000;
+
+    private static final Duration WEEK_SCHEDULE_BUDGET = Duration.ofMillis(200);
+    private static final Duration SEARCH_BUDGET = Duration.ofMillis(50);
+    private static final Duration RECOMMENDATIONS_BUDGET = Duration.ofMillis(20);
+
+    private static final int WARMUP_RUNS = 200;
+    private static final int MEASURED_RUNS = 100;
+
+    @Autowired
+    @Qualifier("dataSource")
+    private DataSource dataSource;
+
+    @Autowired
+    private MovieDao movieDao;
+
+    @Autowired
+    private CustomerController customerController;
+
+    private JdbcTemplate jdbc;
+
+    @BeforeAll
+    void loadCinema() {
+        SyntheticCinema.load(dataSource, MOVIES, SESSIONS, CUSTOMERS, new Random(42));
+        // The schedule may have been cached while the database was still empty
+        movieDao.invalidateWeekMovies();
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    // Same shape as the SQL Hibernate generates for MovieDao.getWeekMovies
+    @Test
+    void weekScheduleReadsOnlyTheSessionsOfTheWeek() {
+        LocalDate monday = LocalDate.now().with(DayOfWeek.MONDAY);
+        String plan = explain("select m.id, mg.genre_id from movies m left join movieGenres mg on mg.movie_id = m.id"
+                + " where m.id in (select s.movie_id from sessions s where s.startAt"
+                + " between timestamp '" + monday + " 00:00:00' and timestamp '" + monday.plusDays(6) + " 23:59:59')"
+                + " order by m.id");
+        assertUsesIndex(plan, "sessions_startAt_idx");
+        assertNoFullScan(plan, "sessions");
+        assertNoFullScan(plan, "movies");
+    }
+
+    @Test
+    void searchByTitleUsesTheTitleIndex() {
+        String plan = explain("select m.id from movies m where m.title = 'Movie 17' order by m.id");
+        assertUsesIndex(plan, "movies_title_idx");
+        assertNoFullScan(plan, "movies");
+    }
+
+    @Test
+    void searchByReleaseDateUsesTheReleaseDateIndex() {
+        String plan = explain("select m.id from movies m"
+                + " where m.releaseDate >= date '2000-01-01' and m.releaseDate <= date '2004-12-31'"
+                + " order by m.releaseDate, m.id");
+        assertUsesIndex(plan, "movies_releaseDate_idx");
+        assertNoFullScan(plan, "movies");
+    }
+
+    // Same shape as the SQL Hibernate generates for the genre filter of MovieDao.searchMoviesByFilters
+    @Test
+    void searchByGenreStartsFromTheGenresMovies() {
+        String plan = explain("select m.id from movies m where m.id in (select gm.id from movies gm"
+                + " join movieGenres mg on mg.movie_id = gm.id where mg.genre_id = 3) order by m.releaseDate desc, m.id desc");
+        assertNoFullScan(plan, "movieGenres");
+        assertNoFullScan(plan, "movies");
+    }
+
+    @Test
+    void recommendationsReadTheProfileByKey() {
+        String genres = explain("select g.genre_id from customerProfiles p"
+                + " join customerGenreAffinities g on g.customer_id = p.customer_id where p.customer_id = 17");
+        assertNoFullScan(genres, "customerProfiles");
+        assertNoFullScan(genres, "customerGenreAffinities");
+        String ageRestrictions = explain("select a.ageRestriction from customerProfiles p"
+                + " join customerAgeAffinities a on a.customer_id = p.customer_id where p.customer_id = 17");
+        assertNoFullScan(ageRestrictions, "customerProfiles");
+        assertNoFullScan(ageRestrictions, "customerAgeAffinities");
+    }
+
+    // HSQLDB turns the IN list into a value-list subquery, which it scans, and probes customerSessions
+    // per value through one of its customer indexes
+    @Test
+    void profileRebuildReadsTheHistoryByCustomer() {
+        String plan = explain("select b.id from customerSessions b where b.customer_id in (17, 18, 19) order by b.id");
+        assertUsesIndex(plan, "customerSessions_customer_session_idx", "SYS_FK_");
+        assertNoFullScan(plan, "customerSessions");
+    }
+
+    @Test
+    @Tag(LATENCY)
+    void weekScheduleStaysWithinBudget() {
+        assertWithinBudget("week schedule", WEEK_SCHEDULE_BUDGET, run -> {
+            movieDao.invalidateWeekMovies();
+            return movieDao.getWeekMovies();
+        });
+    }
+
+    @Test
+    @Tag(LATENCY)
+    void searchStaysWithinBudget() {
+        Random random = new Random(7);
+        assertWithinBudget("movie search", SEARCH_BUDGET, run -> {
+            MovieSearchCriteria criteria = new MovieSearchCriteria();
+            switch (run % 3) {
+                case 0 -> criteria.setTitle("Movie " + (1 + random.nextInt(MOVIES)));
+                case 1 -> {
+                    criteria.setGenreId(1L + random.nextInt(SyntheticCinema.GENRES));
+                    criteria.setSort("-releaseDate");
+                }
+                default -> {
+                    LocalDate from = LocalDate.of(1980 + random.nextInt(40), 1, 1);
+                    criteria.setReleasedFrom(from);
+                    criteria.setReleasedTo(from.plusYears(2));
+                    criteria.setSort("releaseDate");
+                }
+            }
+            return movieDao.searchMoviesByFilters(criteria, null, 20);
+        });
+    }
+
+    @Test
+    @Tag(LATENCY)
+    void recommendationsStayWithinBudget() {
+        Random random = new Random(11);
+        assertWithinBudget("recommendations", RECOMMENDATIONS_BUDGET,
+                run -> customerController.getRecommendedMovies(1L + random.nextInt(CUSTOMERS)));
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbc.queryForList("explain plan for " + sql, String.class));
+    }
+
+    private static void assertUsesIndex(String plan, String... indexes) {
+        String upperPlan = plan.toUpperCase(Locale.ROOT);
+        assertTrue(Arrays.stream(indexes).anyMatch(index -> upperPlan.contains("INDEX=" + index.toUpperCase(Locale.ROOT))),
+                () -> "Expected one of " + Arrays.toString(indexes) + " in plan:\n" + plan);
+    }
+
+    // Every table in the plan is a range variable block naming its table and how it is accessed
+    private static void assertNoFullScan(String plan, String table) {
+        Pattern tableLine = Pattern.compile("^\\s*table=" + table.toUpperCase(Locale.ROOT) + "$", Pattern.MULTILINE);
+        boolean found = false;
+        for (String rangeVariable : plan.split("\\[range variable")) {
+            if (tableLine.matcher(rangeVariable).find()) {
+                found = true;
+                assertFalse(rangeVariable.contains("access=FULL SCAN"), () -> "Full scan of " + table + " in plan:\n" + plan);
+            }
+        }
+        assertTrue(found, () -> table + " not in plan:\n" + plan);
+    }
+
+    // Fails if the 95th percentile of the measured runs exceeds the budget; the warm-up runs let the JIT
+    // compile the query path first
+    private static void assertWithinBudget(String name, Duration budget, IntFunction<?> query) {
+        for (int run = 0; run < WARMUP_RUNS; run++) {
+            query.apply(run);
+        }
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int run = 0; run < MEASURED_RUNS; run++) {
+            long start = System.nanoTime();
+            query.apply(run);
+            nanos[run] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        long p95 = nanos[(int) Math.ceil(MEASURED_RUNS * 0.95) - 1];
+        long allowed = (long) (budget.toNanos() * Double.parseDouble(System.getProperty("query.budgetFactor", "1")));
+        assertTrue(p95 <= allowed, () -> name + " p95 of " + p95 / 1_000_000.0 + " ms exceeds the budget of "
+                + allowed / 1_000_000.0 + " ms");
+    }
+}
@@ -0,0 +1,218 @@
+package dao;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Loads a synthetic cinema straight into the database with JDBC batches, far faster than through the DAOs.
+ * Rows get consecutive IDs starting from 1, so tests can refer to them. Sessions are spread over two years
+ * up to next week, so the schedule of any one week is a small slice of all sessions ever created.
+ * Customers come with a watch history and the taste profiles built from it.
+ */
+public final class SyntheticCinema {
+
+    /**
+     * Number of genres, with IDs 1 to GENRES.
+     */
+    public static final int GENRES = 20;
+
+    /**
+     * Number of languages, with IDs 1 to LANGUAGES.
+     */
+    public static final int LANGUAGES = 5;
+
+    /**
+     * Number of weeks the sessions are spread over, ending with next week.
+     */
+    public static final int WEEKS = 104;
+
+    private static final String[] AGE_RESTRICTIONS = {"G", "PG", "PG-13", "R", "NC-17"};
+    private static final int MAX_HISTORY = 8;
+
+    private final JdbcTemplate jdbc;
+    private final Random random;
+
+    private int[][] movieGenres;
+    private String[] movieAgeRestrictions;
+    private int[] sessionMovies;
+    private int[] sessionLanguages;
+    private LocalDateTime[] sessionStarts;
+
+    private SyntheticCinema(DataSource dataSource, Random random) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.random = random;
+    }
+
+    /**
+     * Loads a cinema into an empty database.
+     *
+     * @param dataSource The data source of the primary database.
+     * @param movies     Number of movies.
+     * @param sessions   Number of sessions.
+     * @param customers  Number of customers.
+     * @param random     Source of the data, seeded for repeatable runs.
+     */
+    public static void load(DataSource dataSource, int movies, int sessions, int customers, Random random) {
+        SyntheticCinema cinema = new SyntheticCinema(dataSource, random);
+        cinema.insertGenres();
+        cinema.insertLanguages();
+        cinema.insertMovies(movies);
+        cinema.insertSessions(sessions);
+        cinema.insertCustomers(customers);
+        // Hibernate continues the sequences past the IDs used here
+        cinema.restartSequence("genre1", GENRES);
+        cinema.restartSequence("language1", LANGUAGES);
+        cinema.restartSequence("movie1", movies);
+        cinema.restartSequence("session1", sessions);
+        cinema.restartSequence("customer1", customers);
+    }
+
+    private void insertGenres() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int id = 1; id <= GENRES; id++) {
+            rows.add(new Object[]{id, "Genre " + id});
+        }
+        jdbc.batchUpdate("insert into genres (id, text) values (?, ?)", rows);
+    }
+
+    private void insertLanguages() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int id = 1; id <= LANGUAGES; id++) {
+            rows.add(new Object[]{id, "Language " + id});
+        }
+        // schema.sql quotes the table the sessions refer to, the entity maps the unquoted one
+        jdbc.batchUpdate("insert into \"languages\" (id, text) values (?, ?)", rows);
+        jdbc.batchUpdate("insert into languages (id, text) values (?, ?)", rows);
+    }
+
+    private void insertMovies(int count) {
+        movieGenres = new int[count + 1][];
+        movieAgeRestrictions = new String[count + 1];
+        List<Object[]> movies = new ArrayList<>(count);
+        List<Object[]> genres = new ArrayList<>(count * 2);
+        for (int id = 1; id <= count; id++) {
+            movieAgeRestrictions[id] = AGE_RESTRICTIONS[random.nextInt(AGE_RESTRICTIONS.length)];
+            movies.add(new Object[]{id, "Movie " + id, movieAgeRestrictions[id],
+                    Time.valueOf(LocalTime.of(1, 0).plusMinutes(random.nextInt(120))),
+                    Date.valueOf(LocalDate.of(1980, 1, 1).plusDays(random.nextInt(45 * 365)))});
+            movieGenres[id] = random.ints(1 + random.nextInt(3), 1, GENRES + 1).distinct().toArray();
+            for (int genreId : movieGenres[id]) {
+                genres.add(new Object[]{genreId, id});
+            }
+        }
+        jdbc.batchUpdate("insert into movies (id, title, ageRestrictions, duration, releaseDate)"
+                + " values (?, ?, ?, ?, ?)", movies);
+        jdbc.batchUpdate("insert into movieGenres (genre_id, movie_id) values (?, ?)", genres);
+    }
+
+    private void insertSessions(int count) {
+        int movies = movieGenres.length - 1;
+        LocalDateTime first = LocalDate.now().with(DayOfWeek.MONDAY).minusWeeks(WEEKS - 2).atStartOfDay();
+        sessionMovies = new int[count + 1];
+        sessionLanguages = new int[count + 1];
+        sessionStarts = new LocalDateTime[count + 1];
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            sessionMovies[id] = 1 + random.nextInt(movies);
+            sessionLanguages[id] = 1 + random.nextInt(LANGUAGES);
+            sessionStarts[id] = first.plusDays(random.nextInt(WEEKS * 7)).plusHours(10 + random.nextInt(13));
+            rows.add(new Object[]{id, sessionMovies[id], sessionLanguages[id], "Hall " + (1 + random.nextInt(8)),
+                    Timestamp.valueOf(sessionStarts[id]), 0.5});
+        }
+        jdbc.batchUpdate("insert into sessions (id, movie_id, language_id, hallNr, startAt, price)"
+                + " values (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void insertCustomers(int count) {
+        int sessions = sessionMovies.length - 1;
+        Timestamp bookedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> customers = new ArrayList<>(count);
+        List<Object[]> history = new ArrayList<>();
+        List<Object[]> profiles = new ArrayList<>();
+        List<Object[]> genreAffinities = new ArrayList<>();
+        List<Object[]> ageAffinities = new ArrayList<>();
+        List<Object[]> languageAffinities = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            customers.add(new Object[]{id, "First" + id, "Last" + id,
+                    Date.valueOf(LocalDate.of(1950, 1, 1).plusDays(random.nextInt(55 * 365))),
+                    "customer" + id + "@example.com"});
+
+            int watched = random.nextInt(MAX_HISTORY + 1);
+            if (watched == 0) {
+                continue;
+            }
+            Map<Integer, Affinity> genres = new HashMap<>();
+            Map<String, Affinity> ageRestrictions = new HashMap<>();
+            Map<Integer, Affinity> languages = new HashMap<>();
+            LocalDateTime lastSessionAt = null;
+            for (int i = 0; i < watched; i++) {
+                int sessionId = 1 + random.nextInt(sessions);
+                int movieId = sessionMovies[sessionId];
+                LocalDateTime startAt = sessionStarts[sessionId];
+                history.add(new Object[]{sessionId, id, bookedAt});
+                for (int genreId : movieGenres[movieId]) {
+                    genres.computeIfAbsent(genreId, key -> new Affinity()).add(startAt);
+                }
+                ageRestrictions.computeIfAbsent(movieAgeRestrictions[movieId], key -> new Affinity()).add(startAt);
+                languages.computeIfAbsent(sessionLanguages[sessionId], key -> new Affinity()).add(startAt);
+                if (lastSessionAt == null || startAt.isAfter(lastSessionAt)) {
+                    lastSessionAt = startAt;
+                }
+            }
+            profiles.add(new Object[]{id, watched, bookedAt, Timestamp.valueOf(lastSessionAt)});
+            int customerId = id;
+            genres.forEach((key, affinity) -> genreAffinities.add(affinity.row(customerId, key)));
+            ageRestrictions.forEach((key, affinity) -> ageAffinities.add(affinity.row(customerId, key)));
+            languages.forEach((key, affinity) -> languageAffinities.add(affinity.row(customerId, key)));
+        }
+        jdbc.batchUpdate("insert into customers (id, firstName, lastName, birthDate, email)"
+                + " values (?, ?, ?, ?, ?)", customers);
+        jdbc.batchUpdate("insert into customerSessions (session_id, customer_id, bookedAt) values (?, ?, ?)",
+                history);
+        jdbc.batchUpdate("insert into customerProfiles (customer_id, bookings, lastBookedAt, lastSessionAt)"
+                + " values (?, ?, ?, ?)", profiles);
+        jdbc.batchUpdate("insert into customerGenreAffinities (customer_id, genre_id, bookings, lastSeenAt)"
+                + " values (?, ?, ?, ?)", genreAffinities);
+        jdbc.batchUpdate("insert into customerAgeAffinities (customer_id, ageRestriction, bookings, lastSeenAt)"
+                + " values (?, ?, ?, ?)", ageAffinities);
+        jdbc.batchUpdate("insert into customerLanguageAffinities (customer_id, language_id, bookings, lastSeenAt)"
+                + " values (?, ?, ?, ?)", languageAffinities);
+    }
+
+    private void restartSequence(String sequence, int lastId) {
+        // Leaves room for a block Hibernate may already have allocated
+        jdbc.execute("alter sequence " + sequence + " restart with " + (lastId + BatchInserts.BATCH_SIZE + 1));
+    }
+
+    /**
+     * Bookings and last session of one affinity of a customer.
+     */
+    private static final class Affinity {
+        private int bookings;
+        private LocalDateTime lastSeenAt;
+
+        private void add(LocalDateTime startAt) {
+            bookings++;
+            if (lastSeenAt == null || startAt.isAfter(lastSeenAt)) {
+                lastSeenAt = startAt;
+            }
+        }
+
+        private Object[] row(int customerId, Object key) {
+            return new Object[]{customerId, key, bookings, Timestamp.valueOf(lastSeenAt)};
+        }
+    }
+}
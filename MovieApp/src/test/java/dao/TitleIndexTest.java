@@ -0,0 +1,118 @@
+package dao;
+
+import dto.TitleSuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TitleIndexTest {
+
+    private TitleIndex index;
+
+    @BeforeEach
+    void indexTitles() {
+        index = new TitleIndex();
+        index.putAll(Map.of(
+                1L, "The Godfather",
+                2L, "The Godfather Part II",
+                3L, "Good Will Hunting",
+                4L, "Gods and Monsters",
+                5L, "Amélie",
+                6L, "Alien",
+                7L, "Aliens"));
+    }
+
+    @Test
+    void findsTitlesDespiteTypos() {
+        assertEquals(1L, first("godfahter"));
+        assertEquals(1L, first("the godfathr"));
+        assertEquals(3L, first("good wil hunting"));
+    }
+
+    @Test
+    void completesTheLastWordOfTheQuery() {
+        assertEquals(List.of(1L, 2L), ids("the godf", 2));
+        assertEquals(3L, first("good will hu"));
+    }
+
+    @Test
+    void ranksTitlePrefixesAboveWordPrefixesAboveFuzzyMatches() {
+        List<TitleSuggestion> suggestions = index.suggest("god", 10);
+
+        assertEquals(4L, suggestions.get(0).getId(), "title starting with the query first");
+        assertEquals(List.of(1L, 2L), suggestions.subList(1, 3).stream().map(TitleSuggestion::getId).toList(),
+                "then titles with a word starting with it, the shorter first");
+        for (int i = 1; i < suggestions.size(); i++) {
+            assertTrue(suggestions.get(i - 1).getScore() >= suggestions.get(i).getScore());
+        }
+    }
+
+    @Test
+    void prefersTheShorterTitleOnEqualScores() {
+        assertEquals(List.of(6L, 7L), ids("alien", 2));
+    }
+
+    @Test
+    void matchesTitlesWithoutAccents() {
+        assertEquals(5L, first("amelie"));
+        assertEquals(5L, first("AMÉLIE"));
+    }
+
+    @Test
+    void indexesTitlesInEveryScript() {
+        index.putAll(Map.of(10L, "Солярис", 11L, "千と千尋の神隠し", 12L, "!!!"));
+
+        assertEquals(10L, first("солярис"));
+        assertEquals(10L, first("соляр"));
+        assertEquals(11L, first("千と千尋"));
+        assertEquals(10, index.size());
+        assertTrue(index.suggest("!!!", 5).isEmpty());
+    }
+
+    @Test
+    void normalizesToLowercaseWordsOfLettersAndDigits() {
+        assertEquals("amelie 2", TitleIndex.normalize("  Amélie: #2 "));
+        assertEquals("солярис", TitleIndex.normalize("Солярис"));
+        assertEquals("", TitleIndex.normalize("?!"));
+    }
+
+    @Test
+    void replacesAndRemovesTitles() {
+        index.put(6L, "Predator");
+        assertEquals(List.of(7L), ids("alien", 5));
+        assertEquals(6L, first("predator"));
+
+        index.remove(7L);
+        assertTrue(index.suggest("alien", 5).isEmpty());
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    void leavesTheIndexUnchangedWhenATitleIsRejected() {
+        Map<Long, String> titles = new HashMap<>();
+        titles.put(20L, "Heat");
+        titles.put(21L, null);
+
+        assertThrows(NullPointerException.class, () -> index.putAll(titles));
+
+        assertEquals(7, index.size());
+        assertTrue(index.suggest("heat", 5).isEmpty());
+    }
+
+    private Long first(String query) {
+        List<TitleSuggestion> suggestions = index.suggest(query, 1);
+        assertEquals(1, suggestions.size(), () -> "No suggestion for " + query);
+        return suggestions.get(0).getId();
+    }
+
+    private List<Long> ids(String query, int limit) {
+        return index.suggest(query, limit).stream().map(TitleSuggestion::getId).toList();
+    }
+}